@@ -10,6 +10,11 @@ public class AddAction extends AtomicEditAction<EditTarget> {
 		super(target);
 	}
 
+	public AddAction(EditTarget target, int size) {
+
+		super(target, size);
+	}
+
 	boolean addAction() {
 
 		return true;
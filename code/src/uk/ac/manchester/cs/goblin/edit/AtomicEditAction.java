@@ -6,10 +6,17 @@ package uk.ac.manchester.cs.goblin.edit;
 public abstract class AtomicEditAction<T extends EditTarget> extends EditAction {
 
 	private T target;
+	private int size;
 
 	public AtomicEditAction(T target) {
 
+		this(target, 1);
+	}
+
+	public AtomicEditAction(T target, int size) {
+
 		this.target = target;
+		this.size = size;
 	}
 
 	public T getTarget() {
@@ -34,6 +41,11 @@ public abstract class AtomicEditAction<T extends EditTarget> extends EditAction
 		return this;
 	}
 
+	int estimateSize() {
+
+		return size;
+	}
+
 	EditLocation getEditLocation(boolean forward) {
 
 		return target.createLocation(addAction() != forward);
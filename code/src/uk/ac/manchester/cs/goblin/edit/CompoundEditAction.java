@@ -51,6 +51,18 @@ public class CompoundEditAction extends EditAction {
 		return finalSub.getFinalAtomicAction(forward);
 	}
 
+	int estimateSize() {
+
+		int size = 0;
+
+		for (EditAction subAction : subActions) {
+
+			size += subAction.estimateSize();
+		}
+
+		return size;
+	}
+
 	private Iterator<EditAction> directionIterator(boolean forward) {
 
 		return forward ? subActions.iterator() : subActions.descendingIterator();
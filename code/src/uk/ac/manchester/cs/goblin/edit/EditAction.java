@@ -8,4 +8,11 @@ public abstract class EditAction {
 	abstract void perform(boolean forward);
 
 	abstract AtomicEditAction<?> getFinalAtomicAction(boolean forward);
+
+	abstract int estimateSize();
+
+	boolean absorb(EditAction next) {
+
+		return false;
+	}
 }
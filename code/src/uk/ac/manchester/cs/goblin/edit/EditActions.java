@@ -12,6 +12,10 @@ public abstract class EditActions<L extends EditLocation> {
 
 	private boolean trackingStarted = false;
 
+	private int historyLimit = 0;
+	private int historySizeLimit = 0;
+	private int undosSize = 0;
+
 	private List<EditListener> listeners = new ArrayList<EditListener>();
 
 	public void startTracking() {
@@ -19,6 +23,14 @@ public abstract class EditActions<L extends EditLocation> {
 		trackingStarted = true;
 	}
 
+	public void setHistoryLimits(int historyLimit, int historySizeLimit) {
+
+		this.historyLimit = historyLimit;
+		this.historySizeLimit = historySizeLimit;
+
+		trimUndos();
+	}
+
 	public void addListener(EditListener listener) {
 
 		listeners.add(listener);
@@ -48,15 +60,31 @@ public abstract class EditActions<L extends EditLocation> {
 
 		redos.clear();
 
-		perfom(action, true, undos);
+		EditAction historyAction = perfom(action, true, true);
+
+		onPerformed(historyAction, historyAction != action);
 	}
 
 	protected abstract Class<L> getEditLocationClass();
 
+	protected void startEventBatch() {
+	}
+
+	protected void endEventBatch() {
+	}
+
+	protected void onPerformed(EditAction historyAction, boolean absorbed) {
+	}
+
+	protected void onUndone(EditAction action) {
+	}
+
+	protected void onRedone(EditAction action) {
+	}
+
 	private L flip(boolean forward) {
 
 		Deque<EditAction> froms = getActionStack(forward, true);
-		Deque<EditAction> tos = getActionStack(forward, false);
 
 		if (froms.isEmpty()) {
 
@@ -65,23 +93,105 @@ public abstract class EditActions<L extends EditLocation> {
 						+ "No actions available");
 		}
 
-		EditAction action = froms.pop();
+		EditAction action = popAction(froms);
+
+		perfom(action, forward, false);
+
+		if (forward) {
+
+			onRedone(action);
+		}
+		else {
 
-		perfom(action, forward, tos);
+			onUndone(action);
+		}
 
 		return getEditLocation(action.getFinalAtomicAction(forward), forward);
 	}
 
-	private void perfom(EditAction action, boolean forward, Deque<EditAction> tos) {
+	private EditAction perfom(EditAction action, boolean forward, boolean newAction) {
 
-		action.perform(forward);
+		startEventBatch();
+
+		try {
+
+			action.perform(forward);
+		}
+		finally {
+
+			endEventBatch();
+		}
+
+		EditAction historyAction = action;
 
 		if (trackingStarted) {
 
-			tos.push(action);
+			if (newAction && !undos.isEmpty() && absorbIntoLastUndo(action)) {
+
+				historyAction = undos.peek();
+			}
+			else {
+
+				pushAction(action, getActionStack(forward, false));
+			}
 		}
 
 		onEdit();
+
+		return historyAction;
+	}
+
+	private void pushAction(EditAction action, Deque<EditAction> stack) {
+
+		stack.push(action);
+
+		if (stack == undos) {
+
+			undosSize += action.estimateSize();
+
+			trimUndos();
+		}
+	}
+
+	private boolean absorbIntoLastUndo(EditAction action) {
+
+		EditAction lastUndo = undos.peek();
+		int preAbsorbSize = lastUndo.estimateSize();
+
+		if (lastUndo.absorb(action)) {
+
+			undosSize += lastUndo.estimateSize() - preAbsorbSize;
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private EditAction popAction(Deque<EditAction> stack) {
+
+		EditAction action = stack.pop();
+
+		if (stack == undos) {
+
+			undosSize -= action.estimateSize();
+		}
+
+		return action;
+	}
+
+	private void trimUndos() {
+
+		while (undos.size() > 1 && historyLimitExceeded()) {
+
+			undosSize -= undos.removeLast().estimateSize();
+		}
+	}
+
+	private boolean historyLimitExceeded() {
+
+		return (historyLimit > 0 && undos.size() > historyLimit)
+				|| (historySizeLimit > 0 && undosSize > historySizeLimit);
 	}
 
 	private L getEditLocation(AtomicEditAction<?> atomicAction, boolean forward) {
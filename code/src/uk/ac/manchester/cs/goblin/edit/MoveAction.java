@@ -0,0 +1,17 @@
+package uk.ac.manchester.cs.goblin.edit;
+
+/**
+ * @author Colin Puleston
+ */
+public class MoveAction extends AtomicEditAction<EditTarget> {
+
+	public MoveAction(EditTarget target) {
+
+		super(target);
+	}
+
+	boolean addAction() {
+
+		return true;
+	}
+}
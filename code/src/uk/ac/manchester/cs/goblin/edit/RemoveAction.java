@@ -10,6 +10,11 @@ public class RemoveAction extends AtomicEditAction<EditTarget> {
 		super(target);
 	}
 
+	public RemoveAction(EditTarget target, int size) {
+
+		super(target, size);
+	}
+
 	boolean addAction() {
 
 		return false;
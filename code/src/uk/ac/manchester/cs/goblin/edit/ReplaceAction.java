@@ -45,6 +45,16 @@ public class ReplaceAction<T extends EditTarget> extends EditAction {
 	protected void performInterSubActionUpdates(T target1, T target2) {
 	}
 
+	public T getAddTarget() {
+
+		return add.getTarget();
+	}
+
+	protected T lookForMergedAddTarget(EditAction next) {
+
+		return null;
+	}
+
 	void perform(boolean forward) {
 
 		if (forward) {
@@ -62,6 +72,25 @@ public class ReplaceAction<T extends EditTarget> extends EditAction {
 		return forward ? add : remove;
 	}
 
+	int estimateSize() {
+
+		return add.estimateSize() + remove.estimateSize();
+	}
+
+	boolean absorb(EditAction next) {
+
+		T mergedAddTarget = lookForMergedAddTarget(next);
+
+		if (mergedAddTarget != null) {
+
+			add = new AddSubAction(mergedAddTarget);
+
+			return true;
+		}
+
+		return false;
+	}
+
 	private void perform(boolean forward, AtomicEditAction<T> first, AtomicEditAction<T> second) {
 
 		first.perform(forward);
@@ -59,6 +59,16 @@ class AppInfoDisplay extends InfoDisplay {
 		return checkContinue(createWriteToFileMessage(editFile));
 	}
 
+	void informWriteToFileError(File editFile, Exception e) {
+
+		inform("Cannot save " + editSubject + " to \"" + editFile + "\": " + e.getMessage());
+	}
+
+	void informJournalError(Exception e) {
+
+		inform("Cannot record unsaved " + editSubject + " for recovery: " + e.getMessage());
+	}
+
 	private String createCannotStartMessage(String specificMsg) {
 
 		return "\n" + appTitle + " ERROR: " + specificMsg;
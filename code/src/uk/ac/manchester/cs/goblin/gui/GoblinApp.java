@@ -49,11 +49,21 @@ public abstract class GoblinApp<L extends EditLocation> extends GFrame {
 	static private final String UNDO_BUTTON_LABEL = "Undo";
 	static private final String REDO_BUTTON_LABEL = "Redo";
 
+	static private final String SAVING_TITLE_SUFFIX = " (saving...)";
+	static private final String JOURNAL_FAILED_TITLE_SUFFIX = " (edits not recoverable)";
+
 	private AppInfoDisplay infoDisplay;
 
+	private String baseTitle = null;
+
 	private int editCount = 0;
 	private int undoCount = 0;
 
+	private int backgroundSaves = 0;
+	private volatile boolean saveFailed = false;
+	private volatile boolean journalFailed = false;
+	private boolean recoveredEdits = false;
+
 	private List<EditsEnabledButton> editsEnabledButtons = new ArrayList<EditsEnabledButton>();
 
 	private abstract class EditsEnabledButton extends GButton {
@@ -164,10 +174,7 @@ public abstract class GoblinApp<L extends EditLocation> extends GFrame {
 
 			editCount++;
 
-			for (EditsEnabledButton button : editsEnabledButtons) {
-
-				button.onEdit();
-			}
+			updateEditsEnabledButtons();
 		}
 
 		EditRelayer() {
@@ -176,6 +183,61 @@ public abstract class GoblinApp<L extends EditLocation> extends GFrame {
 		}
 	}
 
+	private class SaveRelayer implements SaveListener {
+
+		public void onSaveCompleted() {
+
+			SwingUtilities.invokeLater(new Runnable() {
+
+				public void run() {
+
+					onBackgroundSaveEnded();
+				}
+			});
+		}
+
+		public void onSaveFailed(final Exception exception) {
+
+			saveFailed = true;
+
+			SwingUtilities.invokeLater(new Runnable() {
+
+				public void run() {
+
+					onBackgroundSaveEnded();
+					updateEditsEnabledButtons();
+
+					infoDisplay.informWriteToFileError(getEditFile(), exception);
+				}
+			});
+		}
+
+		SaveRelayer() {
+
+			backgroundSaves++;
+
+			updateTitle();
+		}
+	}
+
+	private class JournalRelayer implements JournalListener {
+
+		public void onJournalFailed(final Exception exception) {
+
+			journalFailed = true;
+
+			SwingUtilities.invokeLater(new Runnable() {
+
+				public void run() {
+
+					updateTitle();
+
+					infoDisplay.informJournalError(exception);
+				}
+			});
+		}
+	}
+
 	private class WindowCloseListener extends WindowAdapter {
 
 		public void windowClosing(WindowEvent e) {
@@ -215,18 +277,45 @@ public abstract class GoblinApp<L extends EditLocation> extends GFrame {
 		System.exit(0);
 	}
 
+	protected LoadMonitor displayLoadProgress() {
+
+		LoadProgressPanel panel = new LoadProgressPanel();
+
+		setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+		display(panel);
+
+		return panel;
+	}
+
+	protected void exitOnStartupErrorLater(final Exception e) {
+
+		SwingUtilities.invokeLater(new Runnable() {
+
+			public void run() {
+
+				exitOnStartupError(e);
+			}
+		});
+	}
+
 	protected void start(String projectName) {
 
-		setTitle(getTitle() + ": " + projectName);
+		baseTitle = getTitle() + ": " + projectName;
+
+		setTitle(baseTitle);
 
 		setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
 		addWindowListener(new WindowCloseListener());
 
 		getEditActions().startTracking();
+		recoveredEdits = recoveredUnsavedEdits();
+
+		monitorJournal(new JournalRelayer());
 
 		new EditRelayer();
 
 		display(createMainPanel());
+		updateEditsEnabledButtons();
 	}
 
 	protected abstract JComponent getMainAppComponent();
@@ -238,6 +327,33 @@ public abstract class GoblinApp<L extends EditLocation> extends GFrame {
 
 	protected abstract void save();
 
+	protected void saveInBackground(SaveListener listener) {
+
+		try {
+
+			save();
+			listener.onSaveCompleted();
+		}
+		catch (RuntimeException e) {
+
+			listener.onSaveFailed(e);
+		}
+	}
+
+	protected void completeBackgroundSaves() {
+	}
+
+	protected boolean recoveredUnsavedEdits() {
+
+		return false;
+	}
+
+	protected void monitorJournal(JournalListener listener) {
+	}
+
+	protected void discardUnsavedEdits() {
+	}
+
 	protected abstract File getEditFile();
 
 	protected abstract EditActions<L> getEditActions();
@@ -267,10 +383,13 @@ public abstract class GoblinApp<L extends EditLocation> extends GFrame {
 
 		if (unsavedEdits() && confirmWriteToFile()) {
 
-			save();
-
 			editCount = 0;
 			undoCount = 0;
+			saveFailed = false;
+			journalFailed = false;
+			recoveredEdits = false;
+
+			saveInBackground(new SaveRelayer());
 
 			return true;
 		}
@@ -280,6 +399,8 @@ public abstract class GoblinApp<L extends EditLocation> extends GFrame {
 
 	private boolean performExitAction() {
 
+		completeBackgroundSaves();
+
 		if (unsavedEdits()) {
 
 			Confirmation confirm = confirmWriteUnsavedToFile();
@@ -292,9 +413,13 @@ public abstract class GoblinApp<L extends EditLocation> extends GFrame {
 			if (confirm.yes()) {
 
 				save();
+
+				return true;
 			}
 		}
 
+		discardUnsavedEdits();
+
 		return true;
 	}
 
@@ -316,7 +441,39 @@ public abstract class GoblinApp<L extends EditLocation> extends GFrame {
 
 	private boolean unsavedEdits() {
 
-		return editCount != undoCount;
+		return saveFailed || recoveredEdits || editCount != undoCount;
+	}
+
+	private void onBackgroundSaveEnded() {
+
+		backgroundSaves--;
+
+		updateTitle();
+	}
+
+	private void updateTitle() {
+
+		String title = baseTitle;
+
+		if (backgroundSaves != 0) {
+
+			title += SAVING_TITLE_SUFFIX;
+		}
+
+		if (journalFailed) {
+
+			title += JOURNAL_FAILED_TITLE_SUFFIX;
+		}
+
+		setTitle(title);
+	}
+
+	private void updateEditsEnabledButtons() {
+
+		for (EditsEnabledButton button : editsEnabledButtons) {
+
+			button.onEdit();
+		}
 	}
 
 	private JComponent createMainPanel() {
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.goblin.gui;
+
+import java.awt.BorderLayout;
+import javax.swing.*;
+import javax.swing.border.*;
+
+import uk.ac.manchester.cs.mekon_util.gui.*;
+
+import uk.ac.manchester.cs.goblin.io.*;
+import uk.ac.manchester.cs.goblin.gui.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class LoadProgressPanel extends JPanel implements LoadMonitor {
+
+	static private final long serialVersionUID = -1;
+
+	static private final String CANCEL_BUTTON_LABEL = "Cancel";
+	static private final String CANCELLING_LABEL = "Cancelling...";
+
+	static private final int GAP_SIZE = 20;
+
+	private JLabel stageLabel = new JLabel();
+	private JProgressBar progressBar = new JProgressBar(0, LoadStage.values().length);
+
+	private volatile boolean cancelRequested = false;
+
+	private class CancelButton extends GButton {
+
+		static private final long serialVersionUID = -1;
+
+		protected void doButtonThing() {
+
+			cancelRequested = true;
+
+			setEnabled(false);
+			stageLabel.setText(CANCELLING_LABEL);
+		}
+
+		CancelButton() {
+
+			super(CANCEL_BUTTON_LABEL);
+		}
+	}
+
+	public void onStageStarted(final LoadStage stage) {
+
+		SwingUtilities.invokeLater(new Runnable() {
+
+			public void run() {
+
+				showStage(stage);
+			}
+		});
+	}
+
+	public boolean cancelRequested() {
+
+		return cancelRequested;
+	}
+
+	LoadProgressPanel() {
+
+		super(new BorderLayout());
+
+		setBorder(new EmptyBorder(GAP_SIZE, GAP_SIZE, GAP_SIZE, GAP_SIZE));
+
+		add(stageLabel, BorderLayout.NORTH);
+		add(progressBar, BorderLayout.CENTER);
+		add(ControlsPanel.horizontal(new CancelButton()), BorderLayout.SOUTH);
+	}
+
+	private void showStage(LoadStage stage) {
+
+		if (!cancelRequested) {
+
+			stageLabel.setText(stage.getLabel());
+			progressBar.setValue(stage.ordinal());
+		}
+	}
+}
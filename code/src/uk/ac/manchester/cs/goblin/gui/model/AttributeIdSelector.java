@@ -37,7 +37,7 @@ class AttributeIdSelector extends DynamicIdSelector {
 
 	AttributeIdSelector(JComponent parent, EntityId currentId) {
 
-		super(parent, currentId, "Attribute");
+		super(parent, currentId, new EntityIdUsage(), "Attribute");
 	}
 
 	char toInitialCharRequiredCase(char c) {
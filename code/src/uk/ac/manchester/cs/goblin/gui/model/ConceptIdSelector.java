@@ -35,9 +35,9 @@ class ConceptIdSelector extends DynamicIdSelector {
 
 	static private final long serialVersionUID = -1;
 
-	ConceptIdSelector(JComponent parent, EntityId currentId) {
+	ConceptIdSelector(JComponent parent, Model model, EntityId currentId) {
 
-		super(parent, currentId, "Concept");
+		super(parent, currentId, model.getConceptIdUsage(), "Concept");
 	}
 
 	char toInitialCharRequiredCase(char c) {
@@ -26,6 +26,7 @@ package uk.ac.manchester.cs.goblin.gui.model;
 
 import java.util.*;
 import javax.swing.*;
+import javax.swing.event.*;
 import javax.swing.tree.*;
 
 import uk.ac.manchester.cs.mekon_util.gui.*;
@@ -39,6 +40,8 @@ abstract class ConceptTree extends GSelectorTree {
 
 	static private final long serialVersionUID = -1;
 
+	static private final int RELEASED_BRANCH_NODES_THRESHOLD = 1000;
+
 	static List<Concept> extractConcepts(Collection<GNode> nodes) {
 
 		List<Concept> concepts = new ArrayList<Concept>();
@@ -70,6 +73,8 @@ abstract class ConceptTree extends GSelectorTree {
 
 	abstract class ConceptTreeNode extends GNode {
 
+		private boolean childrenInitialised = false;
+
 		protected boolean orderedChildren() {
 
 			return true;
@@ -82,6 +87,8 @@ abstract class ConceptTree extends GSelectorTree {
 
 		void addChildrenFor(Collection<Concept> concepts) {
 
+			childrenInitialised = true;
+
 			for (Concept concept : concepts) {
 
 				if (requiredConcept(concept)) {
@@ -91,12 +98,26 @@ abstract class ConceptTree extends GSelectorTree {
 			}
 		}
 
-		void addChildFor(Concept concept) {
+		ConceptNode addChildFor(Concept concept) {
 
 			ConceptNode child = createConceptNode(concept);
 
 			addChild(child);
-			child.ensureChildren();
+
+			return child;
+		}
+
+		void checkAddChildFor(Concept concept) {
+
+			if (childrenInitialised && lookForChildNode(concept, getChildren()) == null) {
+
+				addChildFor(concept);
+			}
+		}
+
+		boolean childrenInitialised() {
+
+			return childrenInitialised;
 		}
 
 		Concept getConceptOrNull() {
@@ -104,17 +125,22 @@ abstract class ConceptTree extends GSelectorTree {
 			return null;
 		}
 
-		ConceptNode findDescendantNode(Concept forConcept) {
+		ConceptNode lookForChildNode(Concept forConcept) {
+
+			return lookForChildNode(forConcept, ensureChildren());
+		}
 
-			for (GNode child : getChildren()) {
+		private ConceptNode lookForChildNode(Concept forConcept, List<GNode> children) {
+
+			for (GNode child : children) {
 
 				if (child instanceof ConceptNode) {
 
-					ConceptNode found = ((ConceptNode)child).findNode(forConcept);
+					ConceptNode childNode = (ConceptNode)child;
 
-					if (found != null) {
+					if (childNode.concept.equals(forConcept)) {
 
-						return found;
+						return childNode;
 					}
 				}
 			}
@@ -137,6 +163,19 @@ abstract class ConceptTree extends GSelectorTree {
 			return rootConcepts.contains(concept);
 		}
 
+		protected Boolean leafNodeFastCheck() {
+
+			for (Concept child : concept.getChildren()) {
+
+				if (requiredConcept(child)) {
+
+					return Boolean.FALSE;
+				}
+			}
+
+			return anyNonConceptChildren() ? null : Boolean.TRUE;
+		}
+
 		protected GCellDisplay getDisplay() {
 
 			return getConceptDisplay(concept);
@@ -152,9 +191,34 @@ abstract class ConceptTree extends GSelectorTree {
 			return concept;
 		}
 
-		ConceptNode findNode(Concept forConcept) {
+		boolean anyNonConceptChildren() {
+
+			return false;
+		}
+
+		void onBranchReleased() {
+		}
+
+		private void releaseBranch() {
+
+			ConceptTreeNode parentNode = (ConceptTreeNode)getParent();
+			List<GNode> selections = getSelectedNodes();
+			boolean selected = selections.remove(this);
+
+			parentNode.startChildReplacementOperation();
+
+			onBranchReleased();
+			remove();
 
-			return concept.equals(forConcept) ? this : findDescendantNode(forConcept);
+			ConceptNode replacement = parentNode.addChildFor(concept);
+
+			parentNode.endChildReplacementOperation();
+
+			if (selected) {
+
+				selections.add(replacement);
+				selectAll(selections);
+			}
 		}
 	}
 
@@ -216,6 +280,69 @@ abstract class ConceptTree extends GSelectorTree {
 		}
 	}
 
+	private class CollapsedBranchReleaser implements TreeExpansionListener {
+
+		public void treeExpanded(TreeExpansionEvent event) {
+		}
+
+		public void treeCollapsed(TreeExpansionEvent event) {
+
+			Object node = event.getPath().getLastPathComponent();
+
+			if (node instanceof ConceptNode) {
+
+				checkRelease((ConceptNode)node);
+			}
+		}
+
+		CollapsedBranchReleaser() {
+
+			addTreeExpansionListener(this);
+		}
+
+		private void checkRelease(final ConceptNode node) {
+
+			if (countBranchNodes(node, 0) > RELEASED_BRANCH_NODES_THRESHOLD) {
+
+				SwingUtilities.invokeLater(new Runnable() {
+
+					public void run() {
+
+						if (attached(node) && node.collapsed()) {
+
+							node.releaseBranch();
+						}
+					}
+				});
+			}
+		}
+
+		private int countBranchNodes(GNode node, int count) {
+
+			for (GNode child : node.getChildren()) {
+
+				if (++count > RELEASED_BRANCH_NODES_THRESHOLD) {
+
+					break;
+				}
+
+				count = countBranchNodes(child, count);
+			}
+
+			return count;
+		}
+
+		private boolean attached(GNode node) {
+
+			while (node.getParent() != null) {
+
+				node = node.getParent();
+			}
+
+			return node == getRootNode();
+		}
+	}
+
 	ConceptTree(boolean multiSelect) {
 
 		super(multiSelect);
@@ -227,6 +354,8 @@ abstract class ConceptTree extends GSelectorTree {
 
 			new MultiSelectionPruner();
 		}
+
+		new CollapsedBranchReleaser();
 	}
 
 	void initialise(Concept rootConcept) {
@@ -302,9 +431,21 @@ abstract class ConceptTree extends GSelectorTree {
 
 	abstract GCellDisplay getConceptDisplay(Concept concept);
 
-	private ConceptTreeNode lookForNodeFor(Concept concept) {
+	ConceptTreeNode lookForNodeFor(Concept concept) {
+
+		if (rootConcepts.contains(concept)) {
+
+			return getConceptTreeRootNode().lookForChildNode(concept);
+		}
+
+		if (concept.isRoot()) {
+
+			return null;
+		}
+
+		ConceptTreeNode parentNode = lookForNodeFor(concept.getParent());
 
-		return getConceptTreeRootNode().findDescendantNode(concept);
+		return parentNode != null ? parentNode.lookForChildNode(concept) : null;
 	}
 
 	private ConceptTreeNode getConceptTreeRootNode() {
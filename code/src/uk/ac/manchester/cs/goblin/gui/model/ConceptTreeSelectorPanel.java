@@ -24,7 +24,7 @@
 
 package uk.ac.manchester.cs.goblin.gui.model;
 
-import java.awt.*;
+import java.awt.BorderLayout;
 import java.util.*;
 import javax.swing.*;
 import javax.swing.border.*;
@@ -89,6 +89,23 @@ abstract class ConceptTreeSelectorPanel extends JPanel {
 			}
 		}
 
+		protected boolean indexedSearch() {
+
+			return true;
+		}
+
+		protected List<Concept> searchNodes(String query, int maxResults) {
+
+			Collection<Concept> roots = targetTree.getRootConcepts();
+
+			if (roots.isEmpty()) {
+
+				return Collections.emptyList();
+			}
+
+			return getModel(roots).searchConcepts(query, roots, maxResults);
+		}
+
 		protected Collection<Concept> getRootNodes() {
 
 			return targetTree.getRootConcepts();
@@ -127,6 +144,11 @@ abstract class ConceptTreeSelectorPanel extends JPanel {
 
 			initialise(tree);
 		}
+
+		private Model getModel(Collection<Concept> roots) {
+
+			return roots.iterator().next().getHierarchy().getModel();
+		}
 	}
 
 	ConceptTreeSelectorPanel(ConceptTree targetTree) {
@@ -588,6 +588,9 @@ class ConstraintGroupPanel extends JPanel {
 			}
 		}
 
+		public void onConceptMoved(Concept formerParent) {
+		}
+
 		public void onConceptRemoved() {
 		}
 
@@ -28,6 +28,8 @@ import java.util.*;
 
 import javax.swing.tree.*;
 
+import uk.ac.manchester.cs.mekon_util.gui.*;
+
 import uk.ac.manchester.cs.goblin.model.*;
 
 /**
@@ -37,10 +39,12 @@ abstract class DynamicConceptTree extends ConceptTree {
 
 	static private final long serialVersionUID = -1;
 
-	private Map<Concept, ConceptListener> conceptListeners = new HashMap<Concept, ConceptListener>();
+	private Map<ConceptListener, Concept> conceptListeners = new HashMap<ConceptListener, Concept>();
 
 	class DynamicConceptNode extends ConceptNode {
 
+		private ConceptListener modelUpdateTracker;
+
 		private class ModelUpdateTracker implements ConceptListener {
 
 			public void onIdUpdate() {
@@ -50,23 +54,38 @@ abstract class DynamicConceptTree extends ConceptTree {
 
 			public void onChildAdded(Concept child) {
 
-				addChildFor(child);
+				checkAddChildFor(child);
 
 				expand();
 			}
 
 			public void onConstraintAdded(Constraint constraint, boolean outward) {
 
-				onConstraintsUpdated();
+				onConstraintsUpdated(constraint, outward);
 			}
 
 			public void onConstraintRemoved(Constraint constraint, boolean outward) {
 
-				onConstraintsUpdated();
+				onConstraintsUpdated(constraint, outward);
+			}
+
+			public void onConceptMoved(Concept formerParent) {
+
+				ConceptTreeNode newParentNode = lookForNodeFor(concept.getParent());
+
+				clearConceptListenersDownwards();
+				remove();
+
+				if (newParentNode != null) {
+
+					newParentNode.checkAddChildFor(concept);
+					newParentNode.expand();
+				}
 			}
 
 			public void onConceptRemoved() {
 
+				clearConceptListenersDownwards();
 				remove();
 			}
 
@@ -74,7 +93,7 @@ abstract class DynamicConceptTree extends ConceptTree {
 
 				concept.addListener(this);
 
-				conceptListeners.put(concept, this);
+				conceptListeners.put(this, concept);
 			}
 		}
 
@@ -82,10 +101,29 @@ abstract class DynamicConceptTree extends ConceptTree {
 
 			super(concept);
 
-			new ModelUpdateTracker();
+			modelUpdateTracker = new ModelUpdateTracker();
 		}
 
-		void onConstraintsUpdated() {
+		void onConstraintsUpdated(Constraint constraint, boolean outward) {
+		}
+
+		void onBranchReleased() {
+
+			clearConceptListenersDownwards();
+		}
+
+		private void clearConceptListenersDownwards() {
+
+			concept.removeListener(modelUpdateTracker);
+			conceptListeners.remove(modelUpdateTracker);
+
+			for (GNode child : getChildren()) {
+
+				if (child instanceof DynamicConceptNode) {
+
+					((DynamicConceptNode)child).clearConceptListenersDownwards();
+				}
+			}
 		}
 	}
 
@@ -96,9 +134,9 @@ abstract class DynamicConceptTree extends ConceptTree {
 
 	void clearConceptListeners() {
 
-		for (Concept concept : conceptListeners.keySet()) {
+		for (ConceptListener listener : conceptListeners.keySet()) {
 
-			concept.removeListener(conceptListeners.get(concept));
+			conceptListeners.get(listener).removeListener(listener);
 		}
 	}
 
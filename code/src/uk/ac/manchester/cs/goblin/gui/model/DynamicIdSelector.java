@@ -26,6 +26,7 @@ package uk.ac.manchester.cs.goblin.gui.model;
 
 import java.awt.*;
 import java.awt.event.*;
+import java.util.concurrent.*;
 import javax.swing.*;
 
 import uk.ac.manchester.cs.mekon_util.gui.*;
@@ -49,12 +50,95 @@ abstract class DynamicIdSelector extends GDialog {
 	static private final String CANCEL_BUTTON_LABEL = "Cancel";
 	static private final String AUTOSET_BUTTON_LABEL = "auto";
 
-	static private final Dimension WINDOW_SIZE = new Dimension(300, 220);
+	static private final String NO_STATUS_MESSAGE = " ";
+	static private final String NAME_IN_USE_MESSAGE = "Name already in use";
+	static private final String LABEL_IN_USE_MESSAGE = "Label already in use";
+
+	static private final Dimension WINDOW_SIZE = new Dimension(300, 240);
+
+	static private final long VALIDATION_DELAY_MILLIS = 200;
 
 	private EntityId currentId;
 	private EntityId selectedId = null;
 
+	private InputPanel namePanel = null;
+	private InputPanel labelPanel = null;
+
 	private ControlButton okButton = new ControlButton(OK_BUTTON_LABEL);
+	private JLabel statusLabel = new JLabel(NO_STATUS_MESSAGE);
+
+	private EntityIdUsage existingIdUsage;
+
+	private ScheduledExecutorService validationExecutor
+				= Executors.newSingleThreadScheduledExecutor(new ValidationThreadFactory());
+
+	private Validation latestValidation = null;
+	private ScheduledFuture<?> pendingValidation = null;
+
+	private boolean selectedNameInUse = false;
+	private boolean confirmOnValidation = false;
+
+	private class ValidationThreadFactory implements ThreadFactory {
+
+		public Thread newThread(Runnable runnable) {
+
+			Thread thread = new Thread(runnable, "Goblin-Validate");
+
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	private class Validation implements Runnable {
+
+		private String name = namePanel.currentValue;
+		private String label = labelPanel.currentValue;
+
+		private String autoName = null;
+		private String autoLabel = null;
+
+		private boolean nameInUse = false;
+		private boolean labelInUse = false;
+
+		public void run() {
+
+			if (!name.isEmpty()) {
+
+				autoLabel = labelPanel.createAutoValueOrNull(name);
+				nameInUse = existingIdUsage.nameInUse(name, currentId);
+			}
+
+			if (!label.isEmpty()) {
+
+				autoName = namePanel.createAutoValueOrNull(label);
+				labelInUse = existingIdUsage.labelInUse(label, currentId);
+			}
+
+			SwingUtilities.invokeLater(new Runnable() {
+
+				public void run() {
+
+					onValidated(Validation.this);
+				}
+			});
+		}
+
+		Validation() {
+
+			latestValidation = this;
+		}
+
+		String getStatusMessage() {
+
+			if (nameInUse) {
+
+				return NAME_IN_USE_MESSAGE;
+			}
+
+			return labelInUse ? LABEL_IN_USE_MESSAGE : NO_STATUS_MESSAGE;
+		}
+	}
 
 	private abstract class InputPanel extends JPanel {
 
@@ -62,6 +146,7 @@ abstract class DynamicIdSelector extends GDialog {
 
 		private String initialValue;
 		private String currentValue;
+		private String autoValue = null;
 
 		private InputPanel otherInput = null;
 
@@ -91,7 +176,7 @@ abstract class DynamicIdSelector extends GDialog {
 
 				if (otherInput.valuePresent()) {
 
-					dispose();
+					confirmWhenValidated();
 				}
 			}
 
@@ -110,8 +195,7 @@ abstract class DynamicIdSelector extends GDialog {
 				currentValue = value;
 				selectedId = resolveSelection();
 
-				okButton.setEnabled(selectedId != null);
-				otherInput.autoSetButton.setEnabling();
+				startValidation();
 			}
 		}
 
@@ -121,7 +205,7 @@ abstract class DynamicIdSelector extends GDialog {
 
 			protected void doButtonThing() {
 
-				valueField.setCurrentValue(createAutoValue(otherInput.currentValue));
+				valueField.setCurrentValue(autoValue);
 
 				setEnabled(false);
 			}
@@ -135,7 +219,7 @@ abstract class DynamicIdSelector extends GDialog {
 
 			void setEnabling() {
 
-				setEnabled(canSetAutoValue());
+				setEnabled(autoValue != null && !autoValue.equals(currentValue));
 			}
 		}
 
@@ -163,29 +247,25 @@ abstract class DynamicIdSelector extends GDialog {
 			add(autoSetButton, BorderLayout.EAST);
 		}
 
-		abstract String extractValue(EntityId id);
-
-		abstract String resolveNewValue(String newValue);
-
-		abstract String createAutoValue(String otherValue);
+		void onValidationStarted() {
 
-		abstract String createAutoValueOrNull(String otherValue);
+			autoSetButton.setEnabled(false);
+		}
 
-		abstract EntityId createSelection(String value, String otherValue);
+		void onValidated(String newAutoValue) {
 
-		private boolean canSetAutoValue() {
+			autoValue = newAutoValue;
 
-			String otherValue = otherInput.currentValue;
+			autoSetButton.setEnabling();
+		}
 
-			if (otherValue.isEmpty()) {
+		abstract String extractValue(EntityId id);
 
-				return false;
-			}
+		abstract String resolveNewValue(String newValue);
 
-			String autoValue = createAutoValueOrNull(otherValue);
+		abstract String createAutoValueOrNull(String otherValue);
 
-			return autoValue != null && !autoValue.equals(currentValue);
-		}
+		abstract EntityId createSelection(String value, String otherValue);
 
 		private EntityId resolveSelection() {
 
@@ -242,18 +322,6 @@ abstract class DynamicIdSelector extends GDialog {
 			return null;
 		}
 
-		String createAutoValue(String otherValue) {
-
-			String value = createAutoValueOrNull(otherValue);
-
-			if (value == null) {
-
-				throw new Error("Should never happen!");
-			}
-
-			return value;
-		}
-
 		String createAutoValueOrNull(String otherValue) {
 
 			return EntityId.labelToNameOrNull(otherValue);
@@ -289,14 +357,9 @@ abstract class DynamicIdSelector extends GDialog {
 			return newValue;
 		}
 
-		String createAutoValue(String otherValue) {
-
-			return EntityId.nameToLabel(otherValue);
-		}
-
 		String createAutoValueOrNull(String otherValue) {
 
-			return createAutoValue(otherValue);
+			return EntityId.nameToLabel(otherValue);
 		}
 
 		EntityId createSelection(String value, String otherValue) {
@@ -333,11 +396,16 @@ abstract class DynamicIdSelector extends GDialog {
 		}
 	}
 
-	DynamicIdSelector(JComponent parent, EntityId currentId, String entityType) {
+	DynamicIdSelector(
+		JComponent parent,
+		EntityId currentId,
+		EntityIdUsage existingIdUsage,
+		String entityType) {
 
 		super(parent, String.format(TITLE_FORMAT, entityType), true);
 
 		this.currentId = currentId;
+		this.existingIdUsage = existingIdUsage;
 
 		setPreferredSize(WINDOW_SIZE);
 
@@ -345,6 +413,8 @@ abstract class DynamicIdSelector extends GDialog {
 		addWindowListener(new WindowCloseListener());
 
 		display(createDisplay());
+
+		validationExecutor.shutdownNow();
 	}
 
 	EntityId getSelectionOrNull() {
@@ -358,8 +428,8 @@ abstract class DynamicIdSelector extends GDialog {
 
 		JPanel panel = new JPanel();
 
-		InputPanel namePanel = new NamePanel();
-		InputPanel labelPanel = new LabelPanel();
+		namePanel = new NamePanel();
+		labelPanel = new LabelPanel();
 
 		namePanel.setOtherInput(labelPanel);
 		labelPanel.setOtherInput(namePanel);
@@ -370,6 +440,7 @@ abstract class DynamicIdSelector extends GDialog {
 		panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
 		panel.add(namePanel);
 		panel.add(labelPanel);
+		panel.add(statusLabel);
 		panel.add(createButtonsPanel());
 
 		return panel;
@@ -379,6 +450,58 @@ abstract class DynamicIdSelector extends GDialog {
 
 		return ControlsPanel.horizontal(okButton, new ControlButton(CANCEL_BUTTON_LABEL));
 	}
-}
 
+	private void startValidation() {
+
+		if (pendingValidation != null) {
 
+			pendingValidation.cancel(false);
+		}
+
+		okButton.setEnabled(false);
+		namePanel.onValidationStarted();
+		labelPanel.onValidationStarted();
+
+		pendingValidation = validationExecutor.schedule(
+								new Validation(),
+								VALIDATION_DELAY_MILLIS,
+								TimeUnit.MILLISECONDS);
+	}
+
+	private void onValidated(Validation validation) {
+
+		if (validation == latestValidation) {
+
+			pendingValidation = null;
+			selectedNameInUse = validation.nameInUse;
+
+			namePanel.onValidated(validation.autoName);
+			labelPanel.onValidated(validation.autoLabel);
+
+			statusLabel.setText(validation.getStatusMessage());
+			okButton.setEnabled(selectedId != null && !selectedNameInUse);
+
+			if (confirmOnValidation) {
+
+				confirmOnValidation = false;
+
+				confirmWhenValidated();
+			}
+		}
+	}
+
+	private void confirmWhenValidated() {
+
+		if (pendingValidation != null) {
+
+			confirmOnValidation = true;
+		}
+		else {
+
+			if (!selectedNameInUse) {
+
+				dispose();
+			}
+		}
+	}
+}
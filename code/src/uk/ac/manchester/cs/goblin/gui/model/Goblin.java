@@ -47,6 +47,8 @@ public class Goblin extends GoblinApp<ModelEditLocation> {
 	static private final int FRAME_WIDTH = 1200;
 	static private final int FRAME_HEIGHT = 700;
 
+	static private final String LOAD_THREAD_NAME = "Goblin-Load";
+
 	static public void main(String[] args) {
 
 		new Goblin(args);
@@ -57,6 +59,43 @@ public class Goblin extends GoblinApp<ModelEditLocation> {
 
 	private ModelPanel modelPanel;
 
+	private class ModelLoadThread extends Thread {
+
+		private ProjectDir projectDir;
+		private LoadMonitor monitor;
+
+		public void run() {
+
+			try {
+
+				onModelLoaded(new ModelSerialiser(projectDir, monitor));
+			}
+			catch (LoadCancelledException e) {
+
+				System.exit(0);
+			}
+			catch (BadStartupException e) {
+
+				exitOnStartupErrorLater(e);
+			}
+			catch (RuntimeException e) {
+
+				exitOnStartupErrorLater(e);
+			}
+		}
+
+		ModelLoadThread(ProjectDir projectDir, LoadMonitor monitor) {
+
+			super(LOAD_THREAD_NAME);
+
+			this.projectDir = projectDir;
+			this.monitor = monitor;
+
+			setDaemon(true);
+			start();
+		}
+	}
+
 	protected JComponent getMainAppComponent() {
 
 		return modelPanel;
@@ -67,6 +106,31 @@ public class Goblin extends GoblinApp<ModelEditLocation> {
 		serialiser.save();
 	}
 
+	protected void saveInBackground(SaveListener listener) {
+
+		serialiser.saveInBackground(listener);
+	}
+
+	protected void completeBackgroundSaves() {
+
+		serialiser.completeBackgroundSaves();
+	}
+
+	protected boolean recoveredUnsavedEdits() {
+
+		return serialiser.recoveredUnsavedEdits();
+	}
+
+	protected void monitorJournal(JournalListener listener) {
+
+		serialiser.setJournalListener(listener);
+	}
+
+	protected void discardUnsavedEdits() {
+
+		serialiser.discardUnsavedEdits();
+	}
+
 	protected File getEditFile() {
 
 		return serialiser.getDynamicOntologyFile();
@@ -86,26 +150,30 @@ public class Goblin extends GoblinApp<ModelEditLocation> {
 
 		super(APP_TITLE, EDIT_SUBJECT, FRAME_WIDTH, FRAME_HEIGHT);
 
-		serialiser = loadModelOrExit(getProjectDir(args));
-		model = serialiser.getModel();
-		modelPanel = new ModelPanel(model);
-
-		model.setConfirmations(new UserConfirmations());
+		ProjectDir projectDir = getProjectDir(args);
 
-		start(serialiser.getProjectName());
+		new ModelLoadThread(projectDir, displayLoadProgress());
 	}
 
-	private ModelSerialiser loadModelOrExit(ProjectDir projectDir) {
+	private void onModelLoaded(final ModelSerialiser loadedSerialiser) {
 
-		try {
+		SwingUtilities.invokeLater(new Runnable() {
 
-			return new ModelSerialiser(projectDir);
-		}
-		catch (BadStartupException e) {
+			public void run() {
+
+				startEditing(loadedSerialiser);
+			}
+		});
+	}
 
-			exitOnStartupError(e);
+	private void startEditing(ModelSerialiser loadedSerialiser) {
 
-			return null;
-		}
+		serialiser = loadedSerialiser;
+		model = serialiser.getModel();
+		modelPanel = new ModelPanel(model);
+
+		model.setConfirmations(new UserConfirmations());
+
+		start(serialiser.getProjectName());
 	}
 }
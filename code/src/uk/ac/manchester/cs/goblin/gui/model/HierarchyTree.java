@@ -24,6 +24,8 @@
 
 package uk.ac.manchester.cs.goblin.gui.model;
 
+import javax.swing.event.*;
+
 import uk.ac.manchester.cs.mekon_util.gui.*;
 
 import uk.ac.manchester.cs.goblin.model.*;
@@ -42,13 +44,21 @@ class HierarchyTree extends DynamicConceptTree {
 	private ConstraintsDisplayMode constraintsDisplayMode = ConstraintsDisplayMode.NONE;
 	private Attribute attributeSelection = null;
 
+	private int constraintsDisplayVersion = 0;
+	private int nodeDisplaysVersion = 0;
+
 	private class HierarchyConceptNode extends DynamicConceptNode {
 
+		private int constraintsVersion = constraintsDisplayVersion;
+		private int displayVersion = nodeDisplaysVersion;
+
 		protected void addInitialChildren() {
 
 			super.addInitialChildren();
 
 			addConstraintChildren();
+
+			constraintsVersion = constraintsDisplayVersion;
 		}
 
 		protected int compareChildrenPriorToLabelCompare(GNode first, GNode second) {
@@ -69,31 +79,66 @@ class HierarchyTree extends DynamicConceptTree {
 			super(concept);
 		}
 
-		void onConstraintsUpdated() {
+		boolean anyNonConceptChildren() {
+
+			return showAnyConstraints();
+		}
+
+		void onConstraintsUpdated(Constraint constraint, boolean outward) {
 
-			if (showAnyConstraints()) {
+			if (childrenInitialised() && constraintsVersion == constraintsDisplayVersion) {
 
-				redisplayConceptConstraints();
+				redisplayConstraintGroup(constraint.getAttribute(), outward);
 			}
 		}
 
-		void redisplayAllConstraints(boolean parentWasCollapsed) {
+		void checkUpdateDisplay() {
 
-			boolean wasCollapsed = collapsed();
+			if (constraintsVersion != constraintsDisplayVersion) {
 
-			redisplayConceptConstraints();
-			redisplayAllConstraintsOnDescendantsOf(this, wasCollapsed);
+				if (childrenInitialised()) {
 
-			if (wasCollapsed || parentWasCollapsed) {
+					redisplayConceptConstraints();
+				}
 
-				collapse();
+				constraintsVersion = constraintsDisplayVersion;
+			}
+
+			if (displayVersion != nodeDisplaysVersion) {
+
+				updateNodeDisplay();
+
+				displayVersion = nodeDisplaysVersion;
 			}
 		}
 
 		private void redisplayConceptConstraints() {
 
+			boolean wasCollapsed = collapsed();
+
 			removeConstraintChildren();
 			addConstraintChildren();
+
+			if (wasCollapsed) {
+
+				collapse();
+			}
+		}
+
+		private void redisplayConstraintGroup(Attribute attribute, boolean outward) {
+
+			if (outward ? showOutwardConstraintsFor(attribute) : showInwardConstraints()) {
+
+				for (ConstraintGroupNode child : getChildren(ConstraintGroupNode.class)) {
+
+					if (child.displaysGroupFor(attribute, outward)) {
+
+						child.remove();
+					}
+				}
+
+				checkAddConstraintsChild(createConstraintGroup(attribute, outward));
+			}
 		}
 
 		private void removeConstraintChildren() {
@@ -139,6 +184,13 @@ class HierarchyTree extends DynamicConceptTree {
 			}
 		}
 
+		private ConstraintGroup createConstraintGroup(Attribute attribute, boolean outward) {
+
+			return outward
+					? new OutwardConstraintGroup(concept, attribute)
+					: new InwardConstraintGroup(concept, attribute);
+		}
+
 		private void checkAddConstraintsChild(ConstraintGroup group) {
 
 			if (group.anyConstraints()) {
@@ -205,6 +257,11 @@ class HierarchyTree extends DynamicConceptTree {
 
 			this.group = group;
 		}
+
+		boolean displaysGroupFor(Attribute attribute, boolean outward) {
+
+			return group.getAttribute().equals(attribute) && group.inwardGroup() != outward;
+		}
 	}
 
 	private class ImpliedValueConstraintLinkedNode extends ConstraintsRelatedNode {
@@ -224,6 +281,22 @@ class HierarchyTree extends DynamicConceptTree {
 		}
 	}
 
+	private class ExpandedNodesUpdater implements TreeExpansionListener {
+
+		public void treeExpanded(TreeExpansionEvent event) {
+
+			updateDisplaysBelow((GNode)event.getPath().getLastPathComponent());
+		}
+
+		public void treeCollapsed(TreeExpansionEvent event) {
+		}
+
+		ExpandedNodesUpdater() {
+
+			addTreeExpansionListener(this);
+		}
+	}
+
 	HierarchyTree(Hierarchy hierarchy) {
 
 		super(true);
@@ -233,6 +306,7 @@ class HierarchyTree extends DynamicConceptTree {
 		initialise(hierarchy.getRootConcept());
 
 		new ConstraintsRelatedNodeDeselector();
+		new ExpandedNodesUpdater();
 	}
 
 	Hierarchy getHierarchy() {
@@ -256,7 +330,7 @@ class HierarchyTree extends DynamicConceptTree {
 
 			constraintsDisplayMode = mode;
 
-			redisplayAllConstraints();
+			redisplayConstraints();
 		}
 	}
 
@@ -266,14 +340,16 @@ class HierarchyTree extends DynamicConceptTree {
 
 		if (constraintsDisplayMode == ConstraintsDisplayMode.CURRENT_OUTWARDS) {
 
-			redisplayAllConstraints();
+			redisplayConstraints();
 		}
 	}
 
 	void update() {
 
 		reselectSelected();
-		updateAllNodeDisplays();
+
+		nodeDisplaysVersion++;
+		updateDisplaysBelow(getRootNode());
 	}
 
 	ConceptNode createConceptNode(Concept concept) {
@@ -296,18 +372,21 @@ class HierarchyTree extends DynamicConceptTree {
 		return ModelCellDisplay.CONCEPTS_DYNAMIC;
 	}
 
-	private void redisplayAllConstraints() {
+	private void redisplayConstraints() {
 
-		redisplayAllConstraintsOnDescendantsOf(getRootNode(), false);
+		constraintsDisplayVersion++;
+		updateDisplaysBelow(getRootNode());
 	}
 
-	private void redisplayAllConstraintsOnDescendantsOf(GNode node, boolean wasCollapsed) {
+	private void updateDisplaysBelow(GNode node) {
+
+		for (HierarchyConceptNode child : node.getChildren(HierarchyConceptNode.class)) {
 
-		for (GNode child : node.getChildren()) {
+			child.checkUpdateDisplay();
 
-			if (child instanceof HierarchyConceptNode) {
+			if (child.expanded()) {
 
-				((HierarchyConceptNode)child).redisplayAllConstraints(wasCollapsed);
+				updateDisplaysBelow(child);
 			}
 		}
 	}
@@ -324,6 +403,11 @@ class HierarchyTree extends DynamicConceptTree {
 
 	private boolean showOutwardConstraintsFor(Attribute attribute) {
 
+		if (!showAnyOutwardConstraints()) {
+
+			return false;
+		}
+
 		switch (constraintsDisplayMode) {
 
 			case ALL_OUTWARDS:
@@ -159,9 +159,9 @@ class UserConfirmations implements Confirmations {
 
 		private String conceptDescription;
 
-		ConceptMoveConstraintRemovalsHandler(Concept concept, List<Constraint> removals) {
+		ConceptMoveConstraintRemovalsHandler(List<Concept> concepts, List<Constraint> removals) {
 
-			conceptDescription = ("\"" + concept.getConceptId().getLabel() + "\"");
+			conceptDescription = describeConcepts(concepts);
 
 			initialise(removals);
 		}
@@ -175,13 +175,23 @@ class UserConfirmations implements Confirmations {
 
 			return "Move " + conceptDescription;
 		}
+
+		private String describeConcepts(List<Concept> concepts) {
+
+			if (concepts.size() == 1) {
+
+				return "\"" + concepts.get(0).getConceptId().getLabel() + "\"";
+			}
+
+			return concepts.size() + " concepts";
+		}
 	}
 
 	private class ConceptMoveOrphanedConstraintsHandler extends ConceptMoveConstraintRemovalsHandler {
 
-		ConceptMoveOrphanedConstraintsHandler(Concept concept, List<Constraint> removals) {
+		ConceptMoveOrphanedConstraintsHandler(List<Concept> concepts, List<Constraint> removals) {
 
-			super(concept, removals);
+			super(concepts, removals);
 		}
 
 		String describeRemovalsReason() {
@@ -192,9 +202,9 @@ class UserConfirmations implements Confirmations {
 
 	private class ConceptMoveConflictingConstraintsHandler extends ConceptMoveConstraintRemovalsHandler {
 
-		ConceptMoveConflictingConstraintsHandler(Concept concept, List<Constraint> removals) {
+		ConceptMoveConflictingConstraintsHandler(List<Concept> concepts, List<Constraint> removals) {
 
-			super(concept, removals);
+			super(concepts, removals);
 		}
 	}
 
@@ -217,17 +227,17 @@ class UserConfirmations implements Confirmations {
 	}
 
 	public boolean confirmConceptMoveOrphanedConstraintRemovals(
-						Concept concept,
+						List<Concept> concepts,
 						List<Constraint> removals) {
 
-		return new ConceptMoveOrphanedConstraintsHandler(concept, removals).checkContinue();
+		return new ConceptMoveOrphanedConstraintsHandler(concepts, removals).checkContinue();
 	}
 
 	public boolean confirmConceptMoveConflictingConstraintRemovals(
-						Concept concept,
+						List<Concept> concepts,
 						List<Constraint> removals) {
 
-		return new ConceptMoveConflictingConstraintsHandler(concept, removals).checkContinue();
+		return new ConceptMoveConflictingConstraintsHandler(concepts, removals).checkContinue();
 	}
 
 	public boolean confirmConstraintAdditionConflictRemovals(List<Constraint> removals) {
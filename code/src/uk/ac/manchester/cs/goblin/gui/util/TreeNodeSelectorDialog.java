@@ -24,7 +24,8 @@
 
 package uk.ac.manchester.cs.goblin.gui.util;
 
-import java.awt.*;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
 import java.util.*;
 import javax.swing.*;
 
@@ -38,13 +39,61 @@ public abstract class TreeNodeSelectorDialog<N> extends GDialog {
 	static private final long serialVersionUID = -1;
 
 	static private final String TITLE_FORMAT = "Select %s";
+	static private final String SEARCH_TITLE = "Search";
 	static private final String LIST_TITLE = "List";
 	static private final String TREE_TITLE = "Tree";
 
 	static private final Dimension WINDOW_SIZE = new Dimension(400, 400);
 
+	static private final int MAX_SEARCH_RESULTS = 100;
+
 	private TreeFilterPanel treeFilterPanel = null;
 
+	private class SearchPanel extends JPanel {
+
+		static private final long serialVersionUID = -1;
+
+		private GList<N> resultsList = new GList<N>(false, false);
+
+		private class QueryField extends GTextField {
+
+			static private final long serialVersionUID = -1;
+
+			protected void onCharEntered(char enteredChar) {
+
+				showResults(getText());
+			}
+
+			protected void onTextEntered(String text) {
+
+				if (resultsList.anyElements()) {
+
+					performSelectionActions(resultsList.getEntity(0));
+				}
+			}
+		}
+
+		SearchPanel() {
+
+			super(new BorderLayout());
+
+			new ListSelectionListener(resultsList);
+
+			add(new QueryField(), BorderLayout.NORTH);
+			add(new JScrollPane(resultsList), BorderLayout.CENTER);
+		}
+
+		private void showResults(String query) {
+
+			resultsList.clearList();
+
+			for (N node : searchNodes(query, MAX_SEARCH_RESULTS)) {
+
+				resultsList.addEntity(node, getCellDisplay(node, false));
+			}
+		}
+	}
+
 	private class ListSelectionListener extends GSelectionListener<N> {
 
 		protected void onSelected(N node) {
@@ -163,6 +212,16 @@ public abstract class TreeNodeSelectorDialog<N> extends GDialog {
 
 	protected abstract N toSubjectNode(GNode guiNode);
 
+	protected boolean indexedSearch() {
+
+		return false;
+	}
+
+	protected List<N> searchNodes(String query, int maxResults) {
+
+		return Collections.emptyList();
+	}
+
 	protected boolean requiredInList(N node) {
 
 		return true;
@@ -203,6 +262,11 @@ public abstract class TreeNodeSelectorDialog<N> extends GDialog {
 
 		JTabbedPane tabs = new JTabbedPane();
 
+		if (indexedSearch()) {
+
+			tabs.addTab(SEARCH_TITLE, new SearchPanel());
+		}
+
 		tabs.addTab(LIST_TITLE, new GListPanel<N>(list));
 		tabs.addTab(TREE_TITLE, createTreePanel(tree));
 
@@ -0,0 +1,74 @@
+package uk.ac.manchester.cs.goblin.io;
+
+import java.io.*;
+import java.nio.file.*;
+import java.security.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class FileUtils {
+
+	static private final String HASH_ALGORITHM = "SHA-256";
+
+	static private final int READ_BUFFER_SIZE = 1 << 16;
+
+	static public byte[] hash(File file) throws IOException {
+
+		MessageDigest digest = createDigest();
+		InputStream input = new FileInputStream(file);
+
+		try {
+
+			byte[] buffer = new byte[READ_BUFFER_SIZE];
+			int count;
+
+			while ((count = input.read(buffer)) != -1) {
+
+				digest.update(buffer, 0, count);
+			}
+		}
+		finally {
+
+			input.close();
+		}
+
+		return digest.digest();
+	}
+
+	static public byte[] hash(byte[] content) {
+
+		return createDigest().digest(content);
+	}
+
+	static public void replaceFile(File newFile, File oldFile) throws IOException {
+
+		Path newPath = newFile.toPath();
+		Path oldPath = oldFile.toPath();
+
+		try {
+
+			Files.move(
+				newPath,
+				oldPath,
+				StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException e) {
+
+			Files.move(newPath, oldPath, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	static private MessageDigest createDigest() {
+
+		try {
+
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		}
+		catch (NoSuchAlgorithmException e) {
+
+			throw new Error(e);
+		}
+	}
+}
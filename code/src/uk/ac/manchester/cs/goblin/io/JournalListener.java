@@ -0,0 +1,9 @@
+package uk.ac.manchester.cs.goblin.io;
+
+/**
+ * @author Colin Puleston
+ */
+public interface JournalListener {
+
+	public void onJournalFailed(Exception exception);
+}
@@ -0,0 +1,14 @@
+package uk.ac.manchester.cs.goblin.io;
+
+/**
+ * @author Colin Puleston
+ */
+public class LoadCancelledException extends BadStartupException {
+
+	static private final long serialVersionUID = -1;
+
+	LoadCancelledException(LoadStage stage) {
+
+		super("Load cancelled before stage: " + stage.getLabel());
+	}
+}
@@ -0,0 +1,11 @@
+package uk.ac.manchester.cs.goblin.io;
+
+/**
+ * @author Colin Puleston
+ */
+public interface LoadMonitor {
+
+	public void onStageStarted(LoadStage stage);
+
+	public boolean cancelRequested();
+}
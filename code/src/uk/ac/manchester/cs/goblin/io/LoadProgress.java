@@ -0,0 +1,40 @@
+package uk.ac.manchester.cs.goblin.io;
+
+/**
+ * @author Colin Puleston
+ */
+public class LoadProgress {
+
+	private LoadMonitor monitor;
+
+	private class NullMonitor implements LoadMonitor {
+
+		public void onStageStarted(LoadStage stage) {
+		}
+
+		public boolean cancelRequested() {
+
+			return false;
+		}
+	}
+
+	public LoadProgress() {
+
+		monitor = new NullMonitor();
+	}
+
+	public LoadProgress(LoadMonitor monitor) {
+
+		this.monitor = monitor;
+	}
+
+	public void startStage(LoadStage stage) throws LoadCancelledException {
+
+		if (monitor.cancelRequested()) {
+
+			throw new LoadCancelledException(stage);
+		}
+
+		monitor.onStageStarted(stage);
+	}
+}
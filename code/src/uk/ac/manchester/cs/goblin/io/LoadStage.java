@@ -0,0 +1,28 @@
+package uk.ac.manchester.cs.goblin.io;
+
+/**
+ * @author Colin Puleston
+ */
+public enum LoadStage {
+
+	PARSE_CONFIG("Reading configuration"),
+	LOAD_SNAPSHOT("Reading model snapshot"),
+	LOAD_ONTOLOGY("Loading ontology"),
+	BUILD_TAXONOMY("Building taxonomy"),
+	LOAD_CONCEPTS("Loading concepts"),
+	LOAD_ATTRIBUTES("Loading attributes"),
+	LOAD_CONSTRAINTS("Loading constraints"),
+	RECOVER_EDITS("Recovering unsaved edits");
+
+	private String label;
+
+	public String getLabel() {
+
+		return label;
+	}
+
+	LoadStage(String label) {
+
+		this.label = label;
+	}
+}
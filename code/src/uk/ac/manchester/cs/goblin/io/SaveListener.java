@@ -0,0 +1,11 @@
+package uk.ac.manchester.cs.goblin.io;
+
+/**
+ * @author Colin Puleston
+ */
+public interface SaveListener {
+
+	public void onSaveCompleted();
+
+	public void onSaveFailed(Exception exception);
+}
@@ -13,6 +13,9 @@ import uk.ac.manchester.cs.goblin.io.ontology.*;
  */
 public class ConfigFileLoader extends ConfigFileVocab {
 
+	static private final int DEFAULT_UNDO_HISTORY_LIMIT = 1000;
+	static private final int DEFAULT_UNDO_HISTORY_SIZE_LIMIT = 100000;
+
 	private ProjectDir projectDir;
 	private XNode rootNode;
 
@@ -45,9 +48,46 @@ public class ConfigFileLoader extends ConfigFileVocab {
 		return getOntologyFile("Ontology", DYNAMIC_FILENAME_ATTR);
 	}
 
-	public ModelConfig loadModelConfig(Ontology ontology) throws BadConfigException {
+	public OntologyFormat getDynamicOntologyFormat() throws BadConfigException {
+
+		try {
+
+			return rootNode.getEnum(
+						DYNAMIC_FORMAT_ATTR,
+						OntologyFormat.class,
+						OntologyFormat.RDF_XML);
+		}
+		catch (XDocumentException e) {
 
-		return new ModelConfigLoader(ontology).load(rootNode);
+			throw new BadConfigFileException(e);
+		}
+	}
+
+	public boolean parallelLoading() throws BadConfigException {
+
+		try {
+
+			return rootNode.getBoolean(PARALLEL_LOADING_ATTR, true);
+		}
+		catch (XDocumentException e) {
+
+			throw new BadConfigFileException(e);
+		}
+	}
+
+	public int getUndoHistoryLimit() throws BadConfigException {
+
+		return getInteger(UNDO_HISTORY_LIMIT_ATTR, DEFAULT_UNDO_HISTORY_LIMIT);
+	}
+
+	public int getUndoHistorySizeLimit() throws BadConfigException {
+
+		return getInteger(UNDO_HISTORY_SIZE_LIMIT_ATTR, DEFAULT_UNDO_HISTORY_SIZE_LIMIT);
+	}
+
+	public ModelConfig loadModelConfig(EntityLabels labels) throws BadConfigException {
+
+		return new ModelConfigLoader(labels).load(rootNode);
 	}
 
 	private File getOntologyFile(String role, String attr) throws BadConfigException {
@@ -73,4 +113,16 @@ public class ConfigFileLoader extends ConfigFileVocab {
 			throw new BadConfigFileException(e);
 		}
 	}
+
+	private int getInteger(String attr, int defaultValue) throws BadConfigException {
+
+		try {
+
+			return rootNode.getInteger(attr, defaultValue);
+		}
+		catch (XDocumentException e) {
+
+			throw new BadConfigFileException(e);
+		}
+	}
 }
@@ -6,6 +6,7 @@ import uk.ac.manchester.cs.mekon_util.xdoc.*;
 
 import uk.ac.manchester.cs.goblin.config.*;
 import uk.ac.manchester.cs.goblin.io.*;
+import uk.ac.manchester.cs.goblin.io.ontology.*;
 
 /**
  * @author Colin Puleston
@@ -37,6 +38,22 @@ class ConfigFileRenderer extends ConfigFileVocab {
 		rootNode.setValue(DYNAMIC_FILENAME_ATTR, file.getName());
 	}
 
+	void renderDynamicOntologyFormat(OntologyFormat format) {
+
+		rootNode.setValue(DYNAMIC_FORMAT_ATTR, format);
+	}
+
+	void renderParallelLoading(boolean parallelLoading) {
+
+		rootNode.setValue(PARALLEL_LOADING_ATTR, parallelLoading);
+	}
+
+	void renderUndoHistoryLimits(int historyLimit, int historySizeLimit) {
+
+		rootNode.setValue(UNDO_HISTORY_LIMIT_ATTR, historyLimit);
+		rootNode.setValue(UNDO_HISTORY_SIZE_LIMIT_ATTR, historySizeLimit);
+	}
+
 	void renderModelConfig(ModelConfig model) {
 
 		new ModelConfigRenderer(rootNode).render(model);
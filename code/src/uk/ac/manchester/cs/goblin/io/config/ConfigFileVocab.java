@@ -16,6 +16,10 @@ class ConfigFileVocab {
 	static final String PROJECT_NAME_ATTR = "projectName";
 	static final String CORE_FILENAME_ATTR = "coreFilename";
 	static final String DYNAMIC_FILENAME_ATTR = "dynamicFilename";
+	static final String DYNAMIC_FORMAT_ATTR = "dynamicFormat";
+	static final String PARALLEL_LOADING_ATTR = "parallelLoading";
+	static final String UNDO_HISTORY_LIMIT_ATTR = "undoHistoryLimit";
+	static final String UNDO_HISTORY_SIZE_LIMIT_ATTR = "undoHistorySizeLimit";
 
 	static final String ENTITY_LABEL_ATTR = "label";
 
@@ -16,6 +16,10 @@ public class ConfigSerialiser {
 	private String projectName;
 	private File coreOntologyFile;
 	private File dynamicOntologyFile;
+	private OntologyFormat dynamicOntologyFormat;
+	private boolean parallelLoading;
+	private int undoHistoryLimit;
+	private int undoHistorySizeLimit;
 
 	private ConfigOntology configOntology;
 
@@ -30,6 +34,10 @@ public class ConfigSerialiser {
 		projectName = fileLoader.getProjectName();
 		coreOntologyFile = fileLoader.getCoreOntologyFile();
 		dynamicOntologyFile = fileLoader.getDynamicOntologyFile();
+		dynamicOntologyFormat = fileLoader.getDynamicOntologyFormat();
+		parallelLoading = fileLoader.parallelLoading();
+		undoHistoryLimit = fileLoader.getUndoHistoryLimit();
+		undoHistorySizeLimit = fileLoader.getUndoHistorySizeLimit();
 
 		Ontology coreOntology = new Ontology(coreOntologyFile);
 
@@ -64,6 +72,9 @@ public class ConfigSerialiser {
 		fileRenderer.renderProjectName(projectName);
 		fileRenderer.renderCoreOntologyFile(coreOntologyFile);
 		fileRenderer.renderDynamicOntologyFile(dynamicOntologyFile);
+		fileRenderer.renderDynamicOntologyFormat(dynamicOntologyFormat);
+		fileRenderer.renderParallelLoading(parallelLoading);
+		fileRenderer.renderUndoHistoryLimits(undoHistoryLimit, undoHistorySizeLimit);
 		fileRenderer.renderModelConfig(modelConfig);
 
 		fileRenderer.writeToFile();
@@ -16,7 +16,7 @@ import uk.ac.manchester.cs.goblin.io.ontology.*;
  */
 class ModelConfigLoader extends ConfigFileVocab {
 
-	private Ontology ontology;
+	private EntityLabels labels;
 
 	private ModelConfig model = new ModelConfig();
 
@@ -286,9 +286,9 @@ class ModelConfigLoader extends ConfigFileVocab {
 		}
 	}
 
-	ModelConfigLoader(Ontology ontology) {
+	ModelConfigLoader(EntityLabels labels) {
 
-		this.ontology = ontology;
+		this.labels = labels;
 	}
 
 	ModelConfig load(XNode rootNode) throws BadConfigException {
@@ -409,17 +409,17 @@ class ModelConfigLoader extends ConfigFileVocab {
 
 	private EntityId getConceptId(XNode node, String tag) {
 
-		return getCoreId(ontology.getClass(getIRI(node, tag)));
+		return getCoreId(getIRI(node, tag));
 	}
 
 	private EntityId getPropertyId(XNode node, String tag) {
 
-		return getCoreId(ontology.getObjectProperty(getIRI(node, tag)));
+		return getCoreId(getIRI(node, tag));
 	}
 
-	private EntityId getCoreId(OWLEntity entity) {
+	private EntityId getCoreId(IRI iri) {
 
-		return new CoreId(entity.getIRI(), ontology.lookForLabel(entity));
+		return new CoreId(iri, labels.lookForLabel(iri));
 	}
 
 	private IRI getIRI(XNode node, String tag) {
@@ -31,9 +31,9 @@ class AnchoredConstraintClassIRIs {
 
 	private String createName(AnchoredAttributeConfig attributeConfig, Constraint constraint) {
 
-		String anchor = attributeConfig.getAnchorConceptId().getLabel();
-		String source = constraint.getSourceValue().getConceptId().getLabel();
-		String target = attributeConfig.getRootTargetConceptId().getLabel();
+		String anchor = attributeConfig.getAnchorConceptId().getName();
+		String source = constraint.getSourceValue().getConceptId().getName();
+		String target = attributeConfig.getRootTargetConceptId().getName();
 
 		int index = nextIndex(anchor);
 
@@ -0,0 +1,37 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.goblin.io.ontology.*;
+
+/**
+ * @author Colin Puleston
+ */
+class AxiomUpdates {
+
+	private Set<OWLAxiom> additions = new HashSet<OWLAxiom>();
+	private Set<OWLAxiom> removals = new HashSet<OWLAxiom>();
+
+	void add(OWLAxiom axiom) {
+
+		if (!removals.remove(axiom)) {
+
+			additions.add(axiom);
+		}
+	}
+
+	void remove(OWLAxiom axiom) {
+
+		if (!additions.remove(axiom)) {
+
+			removals.add(axiom);
+		}
+	}
+
+	void applyTo(Ontology ontology) {
+
+		ontology.updateAxioms(additions, removals);
+	}
+}
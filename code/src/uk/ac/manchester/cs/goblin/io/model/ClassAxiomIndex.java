@@ -0,0 +1,200 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.goblin.io.ontology.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ClassAxiomIndex {
+
+	static private final List<Class<? extends OWLQuantifiedObjectRestriction>> RESTRICTION_TYPES
+			= Arrays.<Class<? extends OWLQuantifiedObjectRestriction>>asList(
+				OWLObjectAllValuesFrom.class,
+				OWLObjectSomeValuesFrom.class);
+
+	private Map<OWLClass, ClassAxioms> byClass = new HashMap<OWLClass, ClassAxioms>();
+
+	private class ClassAxioms {
+
+		private Map<Class<?>, TypeRestrictions> restrictionsByType
+						= new HashMap<Class<?>, TypeRestrictions>();
+
+		private List<Set<OWLClassExpression>> equivalents = new ArrayList<Set<OWLClassExpression>>();
+
+		void addRestriction(Class<?> type, OWLQuantifiedObjectRestriction restriction) {
+
+			TypeRestrictions typeRestrictions = restrictionsByType.get(type);
+
+			if (typeRestrictions == null) {
+
+				typeRestrictions = new TypeRestrictions();
+
+				restrictionsByType.put(type, typeRestrictions);
+			}
+
+			typeRestrictions.add(restriction);
+		}
+
+		void addEquivalents(Set<OWLClassExpression> exprs) {
+
+			equivalents.add(exprs);
+		}
+
+		TypeRestrictions lookForRestrictions(Class<?> type) {
+
+			return restrictionsByType.get(type);
+		}
+
+		List<Set<OWLClassExpression>> getEquivalents() {
+
+			return equivalents;
+		}
+	}
+
+	private class TypeRestrictions {
+
+		private List<OWLQuantifiedObjectRestriction> all = new ArrayList<OWLQuantifiedObjectRestriction>();
+
+		private Map<OWLObjectProperty, List<OWLQuantifiedObjectRestriction>> byProperty
+					= new HashMap<OWLObjectProperty, List<OWLQuantifiedObjectRestriction>>();
+
+		void add(OWLQuantifiedObjectRestriction restriction) {
+
+			OWLObjectProperty property = (OWLObjectProperty)restriction.getProperty();
+			List<OWLQuantifiedObjectRestriction> forProperty = byProperty.get(property);
+
+			if (forProperty == null) {
+
+				forProperty = new ArrayList<OWLQuantifiedObjectRestriction>();
+
+				byProperty.put(property, forProperty);
+			}
+
+			all.add(restriction);
+			forProperty.add(restriction);
+		}
+
+		List<OWLQuantifiedObjectRestriction> getAll() {
+
+			return all;
+		}
+
+		List<OWLQuantifiedObjectRestriction> get(OWLObjectProperty property) {
+
+			List<OWLQuantifiedObjectRestriction> forProperty = byProperty.get(property);
+
+			return forProperty != null ? forProperty : Collections.<OWLQuantifiedObjectRestriction>emptyList();
+		}
+	}
+
+	ClassAxiomIndex(Ontology ontology) {
+
+		for (OWLSubClassOfAxiom axiom : ontology.getAllSubClassAxioms()) {
+
+			checkIndexSubClassAxiom(axiom);
+		}
+
+		for (OWLEquivalentClassesAxiom axiom : ontology.getAllEquivalentClassesAxioms()) {
+
+			indexEquivalentClassesAxiom(axiom);
+		}
+	}
+
+	List<OWLQuantifiedObjectRestriction> getSubClassRestrictions(OWLClass cls, Class<?> type) {
+
+		TypeRestrictions restrictions = lookForRestrictions(cls, type);
+
+		return restrictions != null ? restrictions.getAll() : noRestrictions();
+	}
+
+	List<OWLQuantifiedObjectRestriction> getSubClassRestrictions(
+											OWLClass cls,
+											Class<?> type,
+											OWLObjectProperty property) {
+
+		TypeRestrictions restrictions = lookForRestrictions(cls, type);
+
+		return restrictions != null ? restrictions.get(property) : noRestrictions();
+	}
+
+	List<Set<OWLClassExpression>> getEquivalents(OWLClass cls) {
+
+		ClassAxioms axioms = byClass.get(cls);
+
+		if (axioms != null) {
+
+			return axioms.getEquivalents();
+		}
+
+		return Collections.emptyList();
+	}
+
+	private void checkIndexSubClassAxiom(OWLSubClassOfAxiom axiom) {
+
+		OWLClassExpression sub = axiom.getSubClass();
+		OWLClassExpression sup = axiom.getSuperClass();
+
+		if (sub instanceof OWLClass && sup instanceof OWLQuantifiedObjectRestriction) {
+
+			OWLQuantifiedObjectRestriction restriction = (OWLQuantifiedObjectRestriction)sup;
+
+			if (restriction.getProperty() instanceof OWLObjectProperty) {
+
+				checkIndexRestriction((OWLClass)sub, restriction);
+			}
+		}
+	}
+
+	private void checkIndexRestriction(OWLClass cls, OWLQuantifiedObjectRestriction restriction) {
+
+		for (Class<?> type : RESTRICTION_TYPES) {
+
+			if (type.isInstance(restriction)) {
+
+				resolveClassAxioms(cls).addRestriction(type, restriction);
+			}
+		}
+	}
+
+	private void indexEquivalentClassesAxiom(OWLEquivalentClassesAxiom axiom) {
+
+		for (OWLClass cls : axiom.getNamedClasses()) {
+
+			Set<OWLClassExpression> exprs = axiom.getClassExpressions();
+
+			exprs.remove(cls);
+
+			resolveClassAxioms(cls).addEquivalents(exprs);
+		}
+	}
+
+	private TypeRestrictions lookForRestrictions(OWLClass cls, Class<?> type) {
+
+		ClassAxioms axioms = byClass.get(cls);
+
+		return axioms != null ? axioms.lookForRestrictions(type) : null;
+	}
+
+	private ClassAxioms resolveClassAxioms(OWLClass cls) {
+
+		ClassAxioms axioms = byClass.get(cls);
+
+		if (axioms == null) {
+
+			axioms = new ClassAxioms();
+
+			byClass.put(cls, axioms);
+		}
+
+		return axioms;
+	}
+
+	private List<OWLQuantifiedObjectRestriction> noRestrictions() {
+
+		return Collections.emptyList();
+	}
+}
@@ -1,6 +1,5 @@
 package uk.ac.manchester.cs.goblin.io.model;
 
-import java.io.*;
 import java.util.*;
 
 import org.semanticweb.owlapi.model.*;
@@ -12,15 +11,83 @@ import uk.ac.manchester.cs.goblin.io.ontology.*;
 /**
  * @author Colin Puleston
  */
-class DynamicModelRenderer {
+class DynamicModelRenderer implements ModelUpdateListener {
 
-	private Ontology ontology;
 	private OntologyIds ontologyIds;
+	private AxiomCollector axioms = new AxiomCollector();
 
 	private AnchoredConstraintClassIRIs anchoredConstraintClassIRIs;
 
+	private Set<Hierarchy> coreHierarchies = new HashSet<Hierarchy>();
 	private Set<Hierarchy> renderedDynamicValueHierarchies = new HashSet<Hierarchy>();
 
+	private Map<Concept, RenderedConcept> renderedConcepts = new HashMap<Concept, RenderedConcept>();
+	private Set<OWLAxiom> anchoredConstraintAxioms = new HashSet<OWLAxiom>();
+	private Map<OWLAxiom, Integer> axiomCounts = new HashMap<OWLAxiom, Integer>();
+
+	private Set<Concept> updatedConcepts = new LinkedHashSet<Concept>();
+	private AxiomUpdates axiomUpdates = new AxiomUpdates();
+
+	private class RenderedConcept {
+
+		private IRI iri;
+		private Set<OWLAxiom> conceptAxioms;
+
+		RenderedConcept(Concept concept) {
+
+			iri = getIRI(concept.getConceptId());
+
+			if (!concept.isRoot()) {
+
+				if (renderedHierarchy(concept.getHierarchy())) {
+
+					resolveClass(getCls(concept.getParent()), concept);
+				}
+
+				if (renderedConstraints(concept.getHierarchy())) {
+
+					renderNonAnchoredConstraints(concept);
+				}
+			}
+
+			conceptAxioms = axioms.takeAxioms();
+		}
+
+		boolean hasIRI(IRI testIRI) {
+
+			return iri.equals(testIRI);
+		}
+	}
+
+	private class AnchoredAttributeTester extends AttributeVisitor {
+
+		private boolean anchored = false;
+
+		public void visit(CoreAttribute attribute, SimpleAttributeConfig config) {
+		}
+
+		public void visit(CoreAttribute attribute, AnchoredAttributeConfig config) {
+
+			anchored = true;
+		}
+
+		public void visit(CoreAttribute attribute, HierarchicalAttributeConfig config) {
+		}
+
+		public void visit(DynamicAttribute attribute) {
+		}
+
+		AnchoredAttributeTester(Attribute attribute) {
+
+			visit(attribute);
+		}
+
+		boolean anchored() {
+
+			return anchored;
+		}
+	}
+
 	private class ConstraintRenderer extends AttributeVisitor {
 
 		private Constraint constraint;
@@ -41,7 +108,7 @@ class DynamicModelRenderer {
 			OWLObjectProperty srcProp = getObjectProperty(config.getSourcePropertyId());
 			OWLObjectProperty tgtProp = getObjectProperty(config.getTargetPropertyId());
 
-			ontology.addPremiseAxiom(anchor, anchorSub, srcProp, source);
+			axioms.addPremiseAxiom(anchor, anchorSub, srcProp, source);
 			addConsequenceAxiom(anchorSub, tgtProp, targets);
 		}
 
@@ -49,7 +116,7 @@ class DynamicModelRenderer {
 
 			for (OWLClass target : targets) {
 
-				ontology.addSuperClass(source, target);
+				axioms.addSuperClass(source, target);
 			}
 		}
 
@@ -82,11 +149,11 @@ class DynamicModelRenderer {
 
 			if (constraint.getSemantics().validValues()) {
 
-				ontology.addAllConsequenceAxiom(subject, property, values);
+				axioms.addAllConsequenceAxiom(subject, property, values);
 			}
 			else {
 
-				ontology.addSomeConsequenceAxioms(subject, property, values);
+				axioms.addSomeConsequenceAxioms(subject, property, values);
 			}
 		}
 
@@ -96,93 +163,306 @@ class DynamicModelRenderer {
 		}
 	}
 
-	DynamicModelRenderer(Ontology ontology, OntologyIds ontologyIds) {
+	DynamicModelRenderer(OntologyIds ontologyIds) {
 
-		this.ontology = ontology;
 		this.ontologyIds = ontologyIds;
+	}
 
-		anchoredConstraintClassIRIs = new AnchoredConstraintClassIRIs(ontologyIds);
+	public void onConceptsUpdated(Set<Concept> concepts) {
+
+		updatedConcepts.addAll(concepts);
 	}
 
-	void write(Model model, File dynamicFile) {
+	Set<OWLAxiom> render(Model model) {
 
-		ontology.removeAllAxioms();
+		renderedConcepts.clear();
+		anchoredConstraintAxioms.clear();
+		axiomCounts.clear();
+		updatedConcepts.clear();
 
-		renderDynamicHierarchies(model);
-		renderDynamicConstraints(model);
+		coreHierarchies = new HashSet<Hierarchy>(model.getCoreHierarchies());
+		renderedDynamicValueHierarchies = findRenderedDynamicValueHierarchies(model);
 
-		ontology.write(dynamicFile);
+		for (Hierarchy hierarchy : getRenderedHierarchies(model)) {
+
+			renderConceptsFrom(hierarchy.getRootConcept());
+		}
+
+		renderAnchoredConstraints(model);
+
+		axiomUpdates = new AxiomUpdates();
+
+		return new HashSet<OWLAxiom>(axiomCounts.keySet());
 	}
 
-	private void renderDynamicHierarchies(Model model) {
+	AxiomUpdates renderUpdates(Model model) {
 
-		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
+		Set<Hierarchy> valueHierarchies = findRenderedDynamicValueHierarchies(model);
 
-			if (!hierarchy.fixedStructure()) {
+		if (!updatedConcepts.isEmpty() || !valueHierarchies.equals(renderedDynamicValueHierarchies)) {
 
-				renderHierarchy(hierarchy);
+			Set<Hierarchy> changedValueHierarchies = new HashSet<Hierarchy>(valueHierarchies);
+
+			changedValueHierarchies.addAll(renderedDynamicValueHierarchies);
+			changedValueHierarchies.removeAll(intersection(valueHierarchies, renderedDynamicValueHierarchies));
+
+			renderedDynamicValueHierarchies = valueHierarchies;
+
+			for (Hierarchy hierarchy : changedValueHierarchies) {
+
+				renderConceptsFrom(hierarchy.getRootConcept());
 			}
 
+			for (Concept concept : updatedConcepts) {
+
+				updateConcept(concept);
+			}
+
+			updatedConcepts.clear();
+
+			renderAnchoredConstraints(model);
+		}
+
+		AxiomUpdates updates = axiomUpdates;
+
+		axiomUpdates = new AxiomUpdates();
+
+		return updates;
+	}
+
+	private Set<Hierarchy> findRenderedDynamicValueHierarchies(Model model) {
+
+		Set<Hierarchy> valueHierarchies = new HashSet<Hierarchy>();
+
+		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
+
 			if (hierarchy.dynamicAttributesEnabled()) {
 
-				renderDynamicValueHierarchies(hierarchy);
+				for (DynamicAttribute attribute : hierarchy.getDynamicAttributes()) {
+
+					valueHierarchies.add(attribute.getRootTargetConcept().getHierarchy());
+				}
 			}
 		}
+
+		return valueHierarchies;
 	}
 
-	private void renderDynamicValueHierarchies(Hierarchy coreHierarchy) {
+	private Set<Hierarchy> getRenderedHierarchies(Model model) {
 
-		for (DynamicAttribute attribute : coreHierarchy.getDynamicAttributes()) {
+		Set<Hierarchy> hierarchies = new LinkedHashSet<Hierarchy>();
 
-			Hierarchy valueHierarchy = attribute.getRootTargetConcept().getHierarchy();
+		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
 
-			if (renderedDynamicValueHierarchies.add(valueHierarchy)) {
+			if (renderedHierarchy(hierarchy) || renderedConstraints(hierarchy)) {
 
-				renderHierarchy(valueHierarchy);
+				hierarchies.add(hierarchy);
 			}
 		}
+
+		hierarchies.addAll(renderedDynamicValueHierarchies);
+
+		return hierarchies;
 	}
 
-	private void renderHierarchy(Hierarchy hierarchy) {
+	private Set<Hierarchy> intersection(Set<Hierarchy> hierarchies1, Set<Hierarchy> hierarchies2) {
+
+		Set<Hierarchy> intersection = new HashSet<Hierarchy>(hierarchies1);
 
-		Concept root = hierarchy.getRootConcept();
+		intersection.retainAll(hierarchies2);
 
-		renderHierarchyFrom(root, getCls(root));
+		return intersection;
 	}
 
-	private void renderHierarchyFrom(Concept concept, OWLClass cls) {
+	private void updateConcept(Concept concept) {
+
+		RenderedConcept oldRendering = renderedConcepts.get(concept);
+		RenderedConcept newRendering = renderConcept(concept);
+
+		if (oldRendering == null || newRendering == null) {
+
+			if (oldRendering != null || renderedAny(concept.getHierarchy())) {
+
+				renderConceptsBelow(concept);
+			}
+		}
+		else if (!newRendering.hasIRI(oldRendering.iri)) {
+
+			for (Concept child : concept.getChildren()) {
+
+				renderConcept(child);
+			}
+
+			for (Constraint constraint : concept.getInwardConstraints()) {
+
+				renderConcept(constraint.getSourceValue());
+			}
+		}
+	}
+
+	private void renderConceptsFrom(Concept concept) {
+
+		renderConcept(concept);
+		renderConceptsBelow(concept);
+	}
+
+	private void renderConceptsBelow(Concept concept) {
 
 		for (Concept sub : concept.getChildren()) {
 
-			renderHierarchyFrom(sub, resolveClass(cls, sub));
+			renderConceptsFrom(sub);
+		}
+	}
+
+	private RenderedConcept renderConcept(Concept concept) {
+
+		RenderedConcept rendering = renderedConcepts.remove(concept);
+
+		if (rendering != null) {
+
+			removeAxioms(rendering.conceptAxioms);
+		}
+
+		if (renderable(concept)) {
+
+			rendering = new RenderedConcept(concept);
+
+			renderedConcepts.put(concept, rendering);
+			addAxioms(rendering.conceptAxioms);
+
+			return rendering;
+		}
+
+		return null;
+	}
+
+	private void renderNonAnchoredConstraints(Concept concept) {
+
+		for (Constraint constraint : concept.getConstraints()) {
+
+			if (!anchoredAttribute(constraint.getAttribute())) {
+
+				new ConstraintRenderer(constraint);
+			}
 		}
 	}
 
-	private void renderDynamicConstraints(Model model) {
+	private void renderAnchoredConstraints(Model model) {
+
+		anchoredConstraintClassIRIs = new AnchoredConstraintClassIRIs(ontologyIds);
 
 		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
 
-			if (hierarchy.potentiallyHasAttributes()) {
+			if (hasAnchoredAttributes(hierarchy)) {
 
-				renderConstraintsFrom(hierarchy.getRootConcept());
+				renderAnchoredConstraintsBelow(hierarchy.getRootConcept());
 			}
 		}
+
+		removeAxioms(anchoredConstraintAxioms);
+
+		anchoredConstraintAxioms = axioms.takeAxioms();
+
+		addAxioms(anchoredConstraintAxioms);
 	}
 
-	private void renderConstraintsFrom(Concept concept) {
+	private void renderAnchoredConstraintsBelow(Concept concept) {
 
 		for (Concept sub : concept.getChildren()) {
 
-			renderConstraintsFor(sub);
-			renderConstraintsFrom(sub);
+			for (Constraint constraint : sub.getConstraints()) {
+
+				if (anchoredAttribute(constraint.getAttribute())) {
+
+					new ConstraintRenderer(constraint);
+				}
+			}
+
+			renderAnchoredConstraintsBelow(sub);
 		}
 	}
 
-	private void renderConstraintsFor(Concept concept) {
+	private boolean renderable(Concept concept) {
 
-		for (Constraint constraint : concept.getConstraints()) {
+		Hierarchy hierarchy = concept.getHierarchy();
+
+		return renderedAny(hierarchy) && hierarchy.lookForConcept(concept.getConceptId()) == concept;
+	}
+
+	private boolean renderedAny(Hierarchy hierarchy) {
+
+		return renderedHierarchy(hierarchy) || renderedConstraints(hierarchy);
+	}
+
+	private boolean renderedHierarchy(Hierarchy hierarchy) {
 
-			new ConstraintRenderer(constraint);
+		if (coreHierarchies.contains(hierarchy) && !hierarchy.fixedStructure()) {
+
+			return true;
+		}
+
+		return renderedDynamicValueHierarchies.contains(hierarchy);
+	}
+
+	private boolean renderedConstraints(Hierarchy hierarchy) {
+
+		return coreHierarchies.contains(hierarchy) && hierarchy.potentiallyHasAttributes();
+	}
+
+	private boolean hasAnchoredAttributes(Hierarchy hierarchy) {
+
+		if (renderedConstraints(hierarchy)) {
+
+			for (Attribute attribute : hierarchy.getCoreAttributes()) {
+
+				if (anchoredAttribute(attribute)) {
+
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private boolean anchoredAttribute(Attribute attribute) {
+
+		return new AnchoredAttributeTester(attribute).anchored();
+	}
+
+	private void addAxioms(Set<OWLAxiom> added) {
+
+		for (OWLAxiom axiom : added) {
+
+			Integer count = axiomCounts.get(axiom);
+
+			if (count == null) {
+
+				axiomCounts.put(axiom, 1);
+				axiomUpdates.add(axiom);
+			}
+			else {
+
+				axiomCounts.put(axiom, count + 1);
+			}
+		}
+	}
+
+	private void removeAxioms(Set<OWLAxiom> removed) {
+
+		for (OWLAxiom axiom : removed) {
+
+			int count = axiomCounts.get(axiom);
+
+			if (count == 1) {
+
+				axiomCounts.remove(axiom);
+				axiomUpdates.remove(axiom);
+			}
+			else {
+
+				axiomCounts.put(axiom, count - 1);
+			}
 		}
 	}
 
@@ -193,24 +473,19 @@ class DynamicModelRenderer {
 
 		if (concept.coreConcept()) {
 
-			return ontology.getClass(iri);
+			return axioms.getClass(iri);
 		}
 
 		OWLClass cls = addClass(sup, iri);
 
-		ontology.addLabel(cls, id.getLabel());
+		axioms.addLabel(cls, id.getLabel());
 
 		return cls;
 	}
 
 	private OWLClass addClass(OWLClass sup, IRI iri) {
 
-		return ontology.addClass(sup, iri);
-	}
-
-	private Set<OWLClass> getSubClasses(OWLClass cls, boolean direct) {
-
-		return ontology.getSubClasses(cls, direct);
+		return axioms.addClass(sup, iri);
 	}
 
 	private Set<OWLClass> getClasses(Collection<Concept> concepts) {
@@ -232,12 +507,12 @@ class DynamicModelRenderer {
 
 	private OWLClass getCls(EntityId id) {
 
-		return ontology.getClass(getIRI(id));
+		return axioms.getClass(getIRI(id));
 	}
 
 	private OWLObjectProperty getObjectProperty(EntityId id) {
 
-		return ontology.getObjectProperty(getIRI(id));
+		return axioms.getObjectProperty(getIRI(id));
 	}
 
 	private IRI getIRI(EntityId id) {
@@ -0,0 +1,278 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class JournalRecordRenderer extends ModelJournalVocab {
+
+	private List<Hierarchy> coreHierarchies;
+
+	private boolean renderable = true;
+
+	JournalRecordRenderer(Model model) {
+
+		coreHierarchies = model.getCoreHierarchies();
+	}
+
+	byte[] renderChildAddition(Concept parent, EntityId childId) {
+
+		SnapshotOutput output = startRecord(CHILD_ADDITION);
+
+		renderConcept(output, parent);
+		output.writeEntityId(childId);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderConceptIdReset(Concept concept, EntityId newId) {
+
+		SnapshotOutput output = startRecord(CONCEPT_ID_RESET);
+
+		renderConcept(output, concept);
+		output.writeEntityId(newId);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderConceptMove(Concept concept, Concept newParent) {
+
+		SnapshotOutput output = startRecord(CONCEPT_MOVE);
+
+		renderConcept(output, concept);
+		renderConcept(output, newParent);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderConceptGroupMove(List<Concept> concepts, Concept newParent) {
+
+		SnapshotOutput output = startRecord(CONCEPT_GROUP_MOVE);
+
+		renderConcepts(output, concepts);
+		renderConcept(output, newParent);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderConceptRemoval(Concept concept) {
+
+		SnapshotOutput output = startRecord(CONCEPT_REMOVAL);
+
+		renderConcept(output, concept);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderConceptGroupRemoval(List<Concept> concepts) {
+
+		SnapshotOutput output = startRecord(CONCEPT_GROUP_REMOVAL);
+
+		renderConcepts(output, concepts);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderDynamicAttributeAddition(
+				Concept source,
+				EntityId attrId,
+				EntityId rootTargetConceptId) {
+
+		SnapshotOutput output = startRecord(NEW_VALUE_HIERARCHY_ATTRIBUTE_ADDITION);
+
+		renderConcept(output, source);
+		output.writeEntityId(attrId);
+		output.writeEntityId(rootTargetConceptId);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderDynamicAttributeAddition(
+				Concept source,
+				EntityId attrId,
+				Concept rootTargetConcept) {
+
+		SnapshotOutput output = startRecord(DYNAMIC_ATTRIBUTE_ADDITION);
+
+		renderConcept(output, source);
+		output.writeEntityId(attrId);
+		renderConcept(output, rootTargetConcept);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderValidValuesConstraintAddition(
+				Concept source,
+				Attribute attribute,
+				Collection<Concept> targetValues) {
+
+		SnapshotOutput output = startRecord(VALID_VALUES_CONSTRAINT_ADDITION);
+
+		renderConcept(output, source);
+		renderAttribute(output, attribute);
+		renderConcepts(output, targetValues);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderImpliedValueConstraintAddition(
+				Concept source,
+				Attribute attribute,
+				Concept targetValue) {
+
+		SnapshotOutput output = startRecord(IMPLIED_VALUE_CONSTRAINT_ADDITION);
+
+		renderConcept(output, source);
+		renderAttribute(output, attribute);
+		renderConcept(output, targetValue);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderConstraintRemoval(Constraint constraint) {
+
+		SnapshotOutput output = startRecord(CONSTRAINT_REMOVAL);
+
+		renderConcept(output, constraint.getSourceValue());
+		renderAttribute(output, constraint.getAttribute());
+		output.writeInt(constraint.getSemantics().ordinal());
+		renderConceptIds(output, constraint.getTargetValues());
+
+		return completeRecord(output);
+	}
+
+	byte[] renderAttributeIdReset(DynamicAttribute attribute, EntityId newId) {
+
+		SnapshotOutput output = startRecord(ATTRIBUTE_ID_RESET);
+
+		renderAttribute(output, attribute);
+		output.writeEntityId(newId);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderDynamicAttributeRemoval(DynamicAttribute attribute) {
+
+		SnapshotOutput output = startRecord(DYNAMIC_ATTRIBUTE_REMOVAL);
+
+		renderAttribute(output, attribute);
+
+		return completeRecord(output);
+	}
+
+	byte[] renderUndo() {
+
+		return completeRecord(startRecord(UNDO));
+	}
+
+	byte[] renderRedo() {
+
+		return completeRecord(startRecord(REDO));
+	}
+
+	private SnapshotOutput startRecord(int recordType) {
+
+		SnapshotOutput output = new SnapshotOutput();
+
+		output.writeInt(recordType);
+		renderable = true;
+
+		return output;
+	}
+
+	private byte[] completeRecord(SnapshotOutput output) {
+
+		return renderable ? output.toByteArray() : null;
+	}
+
+	private void renderConcepts(SnapshotOutput output, Collection<Concept> concepts) {
+
+		output.writeInt(concepts.size());
+
+		for (Concept concept : concepts) {
+
+			renderConcept(output, concept);
+		}
+	}
+
+	private void renderConceptIds(SnapshotOutput output, Collection<Concept> concepts) {
+
+		output.writeInt(concepts.size());
+
+		for (Concept concept : concepts) {
+
+			output.writeEntityId(concept.getConceptId());
+		}
+	}
+
+	private void renderConcept(SnapshotOutput output, Concept concept) {
+
+		Hierarchy hierarchy = concept.getHierarchy();
+
+		if (hierarchy.lookForConcept(concept.getConceptId()) != concept) {
+
+			renderable = false;
+
+			return;
+		}
+
+		if (coreHierarchies.contains(hierarchy)) {
+
+			output.writeInt(CORE_CONCEPT);
+		}
+		else {
+
+			DynamicAttribute attribute = lookForValueHierarchyAttribute(hierarchy);
+
+			if (attribute == null) {
+
+				renderable = false;
+
+				return;
+			}
+
+			output.writeInt(VALUE_CONCEPT);
+
+			renderAttribute(output, attribute);
+		}
+
+		output.writeEntityId(concept.getConceptId());
+	}
+
+	private void renderAttribute(SnapshotOutput output, Attribute attribute) {
+
+		Concept source = attribute.getRootSourceConcept();
+
+		renderConcept(output, source);
+
+		if (attribute.dynamicAttribute()) {
+
+			output.writeBoolean(true);
+			output.writeEntityId(((DynamicAttribute)attribute).getAttributeId());
+		}
+		else {
+
+			output.writeBoolean(false);
+			output.writeInt(source.getHierarchy().getCoreAttributes().indexOf(attribute));
+		}
+	}
+
+	private DynamicAttribute lookForValueHierarchyAttribute(Hierarchy valueHierarchy) {
+
+		for (Hierarchy hierarchy : coreHierarchies) {
+
+			for (DynamicAttribute attribute : hierarchy.getDynamicAttributes()) {
+
+				if (attribute.getRootTargetConcept().getHierarchy() == valueHierarchy) {
+
+					return attribute;
+				}
+			}
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,307 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.nio.*;
+import java.util.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class JournalReplayer extends ModelJournalVocab {
+
+	private Model model;
+
+	JournalReplayer(Model model) {
+
+		this.model = model;
+	}
+
+	boolean replay(byte[] record) {
+
+		SnapshotInput input = new SnapshotInput(ByteBuffer.wrap(record));
+		int recordType = input.readInt();
+
+		if (recordType == UNDO) {
+
+			model.getEditActions().undo();
+
+			return false;
+		}
+
+		if (recordType == REDO) {
+
+			model.getEditActions().redo();
+
+			return false;
+		}
+
+		replayEdit(recordType, input);
+
+		return true;
+	}
+
+	private void replayEdit(int recordType, SnapshotInput input) {
+
+		switch (recordType) {
+
+			case CHILD_ADDITION:
+				replayChildAddition(input);
+				break;
+
+			case CONCEPT_ID_RESET:
+				replayConceptIdReset(input);
+				break;
+
+			case CONCEPT_MOVE:
+				replayConceptMove(input);
+				break;
+
+			case CONCEPT_GROUP_MOVE:
+				replayConceptGroupMove(input);
+				break;
+
+			case CONCEPT_REMOVAL:
+				replayConceptRemoval(input);
+				break;
+
+			case CONCEPT_GROUP_REMOVAL:
+				replayConceptGroupRemoval(input);
+				break;
+
+			case NEW_VALUE_HIERARCHY_ATTRIBUTE_ADDITION:
+				replayNewValueHierarchyAttributeAddition(input);
+				break;
+
+			case DYNAMIC_ATTRIBUTE_ADDITION:
+				replayDynamicAttributeAddition(input);
+				break;
+
+			case VALID_VALUES_CONSTRAINT_ADDITION:
+				replayValidValuesConstraintAddition(input);
+				break;
+
+			case IMPLIED_VALUE_CONSTRAINT_ADDITION:
+				replayImpliedValueConstraintAddition(input);
+				break;
+
+			case CONSTRAINT_REMOVAL:
+				replayConstraintRemoval(input);
+				break;
+
+			case ATTRIBUTE_ID_RESET:
+				replayAttributeIdReset(input);
+				break;
+
+			case DYNAMIC_ATTRIBUTE_REMOVAL:
+				replayDynamicAttributeRemoval(input);
+				break;
+
+			default:
+				throw new RuntimeException("Unrecognised journal record: " + recordType);
+		}
+	}
+
+	private void replayChildAddition(SnapshotInput input) {
+
+		Concept parent = loadConcept(input);
+
+		parent.addChild(input.readEntityId());
+	}
+
+	private void replayConceptIdReset(SnapshotInput input) {
+
+		Concept concept = loadConcept(input);
+
+		checkPerformed(concept.resetConceptId(input.readEntityId()));
+	}
+
+	private void replayConceptMove(SnapshotInput input) {
+
+		Concept concept = loadConcept(input);
+
+		checkPerformed(concept.move(loadConcept(input)));
+	}
+
+	private void replayConceptGroupMove(SnapshotInput input) {
+
+		List<Concept> concepts = loadConcepts(input);
+
+		checkPerformed(new ConceptGroup(concepts).moveAll(loadConcept(input)));
+	}
+
+	private void replayConceptRemoval(SnapshotInput input) {
+
+		loadConcept(input).remove();
+	}
+
+	private void replayConceptGroupRemoval(SnapshotInput input) {
+
+		new ConceptGroup(loadConcepts(input)).removeAll();
+	}
+
+	private void replayNewValueHierarchyAttributeAddition(SnapshotInput input) {
+
+		Concept source = loadConcept(input);
+		EntityId attrId = input.readEntityId();
+
+		checkPerformed(source.addDynamicAttribute(attrId, input.readEntityId()) != null);
+	}
+
+	private void replayDynamicAttributeAddition(SnapshotInput input) {
+
+		Concept source = loadConcept(input);
+		EntityId attrId = input.readEntityId();
+
+		checkPerformed(source.addDynamicAttribute(attrId, loadConcept(input)) != null);
+	}
+
+	private void replayValidValuesConstraintAddition(SnapshotInput input) {
+
+		Concept source = loadConcept(input);
+		Attribute attribute = loadAttribute(input);
+
+		checkPerformed(source.addValidValuesConstraint(attribute, loadConcepts(input)));
+	}
+
+	private void replayImpliedValueConstraintAddition(SnapshotInput input) {
+
+		Concept source = loadConcept(input);
+		Attribute attribute = loadAttribute(input);
+
+		checkPerformed(source.addImpliedValueConstraint(attribute, loadConcept(input)));
+	}
+
+	private void replayConstraintRemoval(SnapshotInput input) {
+
+		Concept source = loadConcept(input);
+		Attribute attribute = loadAttribute(input);
+		ConstraintSemantics semantics = ConstraintSemantics.values()[input.readInt()];
+		List<EntityId> targetIds = loadEntityIds(input);
+
+		for (Constraint constraint : source.getConstraints(attribute)) {
+
+			if (constraint.hasSemantics(semantics) && getConceptIds(constraint).equals(targetIds)) {
+
+				constraint.remove();
+
+				return;
+			}
+		}
+
+		throw new RuntimeException("Cannot find constraint on: " + source);
+	}
+
+	private void replayAttributeIdReset(SnapshotInput input) {
+
+		DynamicAttribute attribute = loadDynamicAttribute(input);
+
+		attribute.resetAttributeId(input.readEntityId());
+	}
+
+	private void replayDynamicAttributeRemoval(SnapshotInput input) {
+
+		loadDynamicAttribute(input).remove();
+	}
+
+	private void checkPerformed(boolean performed) {
+
+		if (!performed) {
+
+			throw new RuntimeException("Journalled edit could not be replayed");
+		}
+	}
+
+	private List<EntityId> getConceptIds(Constraint constraint) {
+
+		List<EntityId> ids = new ArrayList<EntityId>();
+
+		for (Concept concept : constraint.getTargetValues()) {
+
+			ids.add(concept.getConceptId());
+		}
+
+		return ids;
+	}
+
+	private List<EntityId> loadEntityIds(SnapshotInput input) {
+
+		List<EntityId> ids = new ArrayList<EntityId>();
+
+		for (int i = input.readInt(); i > 0; i--) {
+
+			ids.add(input.readEntityId());
+		}
+
+		return ids;
+	}
+
+	private List<Concept> loadConcepts(SnapshotInput input) {
+
+		List<Concept> concepts = new ArrayList<Concept>();
+
+		for (int i = input.readInt(); i > 0; i--) {
+
+			concepts.add(loadConcept(input));
+		}
+
+		return concepts;
+	}
+
+	private Concept loadConcept(SnapshotInput input) {
+
+		if (input.readInt() == CORE_CONCEPT) {
+
+			EntityId id = input.readEntityId();
+			Concept concept = model.lookForConcept(id);
+
+			if (concept == null) {
+
+				throw new RuntimeException("Cannot find concept: " + id);
+			}
+
+			return concept;
+		}
+
+		Attribute attribute = loadAttribute(input);
+
+		return attribute.getRootTargetConcept().getHierarchy().getConcept(input.readEntityId());
+	}
+
+	private DynamicAttribute loadDynamicAttribute(SnapshotInput input) {
+
+		Attribute attribute = loadAttribute(input);
+
+		if (attribute.dynamicAttribute()) {
+
+			return (DynamicAttribute)attribute;
+		}
+
+		throw new RuntimeException("Not a dynamic attribute: " + attribute);
+	}
+
+	private Attribute loadAttribute(SnapshotInput input) {
+
+		Concept source = loadConcept(input);
+
+		if (input.readBoolean()) {
+
+			return getDynamicAttribute(source, input.readEntityId());
+		}
+
+		return source.getHierarchy().getCoreAttributes().get(input.readInt());
+	}
+
+	private DynamicAttribute getDynamicAttribute(Concept source, EntityId attrId) {
+
+		for (DynamicAttribute attribute : source.getHierarchy().getDynamicAttributes()) {
+
+			if (attribute.getRootSourceConcept() == source && attribute.getAttributeId().equals(attrId)) {
+
+				return attribute;
+			}
+		}
+
+		throw new RuntimeException("Cannot find attribute: " + attrId);
+	}
+}
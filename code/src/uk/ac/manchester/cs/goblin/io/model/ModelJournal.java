@@ -0,0 +1,737 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+import uk.ac.manchester.cs.goblin.edit.*;
+import uk.ac.manchester.cs.goblin.io.*;
+import uk.ac.manchester.cs.goblin.io.config.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ModelJournal extends ModelJournalVocab implements ModelEditRecorder {
+
+	static private final long FLUSH_DELAY_MILLIS = 200;
+	static private final String TEMP_FILE_SUFFIX = ".tmp";
+
+	private File file;
+	private File configFile;
+	private File dynamicOntologyFile;
+
+	private ModelSnapshot snapshot;
+
+	private SnapshotInput input = null;
+	private int baseType = SAVED_MODEL_BASE;
+	private byte[] baseData = null;
+
+	private Model model = null;
+	private Model baseModel = null;
+	private JournalRecordRenderer renderer = null;
+
+	private boolean recording = false;
+	private boolean recoveredEdits = false;
+
+	private int replayedActions = 0;
+	private byte[] pendingRecord = null;
+
+	private Set<EditAction> journalledActions
+				= Collections.newSetFromMap(new WeakHashMap<EditAction, Boolean>());
+
+	private List<byte[]> unflushedRecords = new ArrayList<byte[]>();
+	private List<Checkpoint> checkpoints = new ArrayList<Checkpoint>();
+	private boolean flushScheduled = false;
+
+	private FileOutputStream output = null;
+
+	private volatile JournalListener listener = null;
+
+	private ScheduledExecutorService executor
+				= Executors.newSingleThreadScheduledExecutor(new JournalThreadFactory());
+
+	private class JournalThreadFactory implements ThreadFactory {
+
+		public Thread newThread(Runnable runnable) {
+
+			Thread thread = new Thread(runnable, "Goblin-Journal");
+
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	private class Checkpoint {
+
+		private List<byte[]> records = new ArrayList<byte[]>();
+	}
+
+	private class Checkpointer implements Runnable {
+
+		private Checkpoint checkpoint = new Checkpoint();
+
+		public void run() {
+
+			awaitCompletion(executor.submit(new SavedModelBaseWriter(checkpoint)));
+		}
+
+		Checkpointer() {
+
+			synchronized (ModelJournal.this) {
+
+				checkpoints.add(checkpoint);
+			}
+
+			journalledActions.clear();
+		}
+	}
+
+	private abstract class JournalWriter implements Runnable {
+
+		public void run() {
+
+			try {
+
+				write();
+			}
+			catch (IOException e) {
+
+				disable();
+				onFailed(e);
+			}
+		}
+
+		abstract void write() throws IOException;
+	}
+
+	private class Flusher extends JournalWriter {
+
+		void write() throws IOException {
+
+			writeRecords(takeUnflushedRecords());
+		}
+	}
+
+	private class Resumer extends JournalWriter {
+
+		private int recordsEnd;
+
+		Resumer(int recordsEnd) {
+
+			this.recordsEnd = recordsEnd;
+		}
+
+		void write() throws IOException {
+
+			output = new FileOutputStream(file, true);
+			output.getChannel().truncate(recordsEnd);
+		}
+	}
+
+	private class SavedModelBaseWriter extends JournalWriter {
+
+		private Checkpoint checkpoint;
+
+		SavedModelBaseWriter(Checkpoint checkpoint) {
+
+			this.checkpoint = checkpoint;
+		}
+
+		void write() throws IOException {
+
+			List<byte[]> records = Collections.emptyList();
+
+			if (checkpoint != null) {
+
+				List<byte[]> flushedRecords;
+
+				synchronized (ModelJournal.this) {
+
+					int index = checkpoints.indexOf(checkpoint);
+
+					if (index == -1) {
+
+						return;
+					}
+
+					checkpoints.subList(0, index + 1).clear();
+
+					flushedRecords = takeUnflushedRecords();
+					records = checkpoint.records;
+				}
+
+				writeRecords(flushedRecords);
+			}
+
+			rewrite(SAVED_MODEL_BASE, FileUtils.hash(dynamicOntologyFile), records);
+		}
+	}
+
+	private class SnapshotBaseWriter extends JournalWriter {
+
+		private byte[] content;
+
+		SnapshotBaseWriter(byte[] content) {
+
+			this.content = content;
+		}
+
+		void write() throws IOException {
+
+			byte[] baseData = snapshot.renderVerifiableContent(content);
+
+			rewrite(SNAPSHOT_BASE, baseData, Collections.<byte[]>emptyList());
+		}
+	}
+
+	private class Discarder implements Runnable {
+
+		public void run() {
+
+			synchronized (ModelJournal.this) {
+
+				unflushedRecords.clear();
+				checkpoints.clear();
+			}
+
+			disable();
+		}
+	}
+
+	public void recordChildAddition(Concept parent, EntityId childId) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderChildAddition(parent, childId);
+		}
+	}
+
+	public void recordConceptIdReset(Concept concept, EntityId newId) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderConceptIdReset(concept, newId);
+		}
+	}
+
+	public void recordConceptMove(Concept concept, Concept newParent) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderConceptMove(concept, newParent);
+		}
+	}
+
+	public void recordConceptGroupMove(List<Concept> concepts, Concept newParent) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderConceptGroupMove(concepts, newParent);
+		}
+	}
+
+	public void recordConceptRemoval(Concept concept) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderConceptRemoval(concept);
+		}
+	}
+
+	public void recordConceptGroupRemoval(List<Concept> concepts) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderConceptGroupRemoval(concepts);
+		}
+	}
+
+	public void recordDynamicAttributeAddition(
+					Concept source,
+					EntityId attrId,
+					EntityId rootTargetConceptId) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderDynamicAttributeAddition(source, attrId, rootTargetConceptId);
+		}
+	}
+
+	public void recordDynamicAttributeAddition(
+					Concept source,
+					EntityId attrId,
+					Concept rootTargetConcept) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderDynamicAttributeAddition(source, attrId, rootTargetConcept);
+		}
+	}
+
+	public void recordValidValuesConstraintAddition(
+					Concept source,
+					Attribute attribute,
+					Collection<Concept> targetValues) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderValidValuesConstraintAddition(source, attribute, targetValues);
+		}
+	}
+
+	public void recordImpliedValueConstraintAddition(
+					Concept source,
+					Attribute attribute,
+					Concept targetValue) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderImpliedValueConstraintAddition(source, attribute, targetValue);
+		}
+	}
+
+	public void recordConstraintRemoval(Constraint constraint) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderConstraintRemoval(constraint);
+		}
+	}
+
+	public void recordAttributeIdReset(DynamicAttribute attribute, EntityId newId) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderAttributeIdReset(attribute, newId);
+		}
+	}
+
+	public void recordDynamicAttributeRemoval(DynamicAttribute attribute) {
+
+		if (recording) {
+
+			pendingRecord = renderer.renderDynamicAttributeRemoval(attribute);
+		}
+	}
+
+	public void onActionStarting() {
+	}
+
+	public void onActionPerformed(EditAction historyAction, boolean absorbed) {
+
+		byte[] record = pendingRecord;
+
+		pendingRecord = null;
+
+		if (recording) {
+
+			if (record != null && (!absorbed || journalledActions.contains(historyAction))) {
+
+				journalledActions.add(historyAction);
+				append(record);
+			}
+			else {
+
+				rebase();
+			}
+		}
+		else {
+
+			journalledActions.add(historyAction);
+			replayedActions++;
+		}
+	}
+
+	public void onActionUndone(EditAction action) {
+
+		pendingRecord = null;
+
+		if (recording) {
+
+			onHistoryActionReperformed(action, renderer.renderUndo());
+		}
+	}
+
+	public void onActionRedone(EditAction action) {
+
+		pendingRecord = null;
+
+		if (recording) {
+
+			onHistoryActionReperformed(action, renderer.renderRedo());
+		}
+	}
+
+	ModelJournal(ProjectDir projectDir, File dynamicOntologyFile, ModelSnapshot snapshot) {
+
+		this.dynamicOntologyFile = dynamicOntologyFile;
+		this.snapshot = snapshot;
+
+		file = projectDir.getFile(JOURNAL_FILENAME);
+		configFile = projectDir.getConfigFile();
+
+		if (file.exists()) {
+
+			try {
+
+				readHeader();
+			}
+			catch (IOException e) {
+
+				input = null;
+			}
+			catch (RuntimeException e) {
+
+				input = null;
+			}
+		}
+	}
+
+	Model lookForBaseModel(ConfigFileLoader configFileLoader) throws BadStartupException {
+
+		if (input != null && baseType == SNAPSHOT_BASE) {
+
+			try {
+
+				baseModel = snapshot.lookForVerifiedContent(configFileLoader, new SnapshotInput(ByteBuffer.wrap(baseData)));
+			}
+			catch (IOException e) {
+
+				input = null;
+			}
+			catch (RuntimeException e) {
+
+				input = null;
+			}
+		}
+
+		return baseModel;
+	}
+
+	void recover(Model model) {
+
+		this.model = model;
+
+		renderer = new JournalRecordRenderer(model);
+
+		model.setEditRecorder(this);
+
+		if (input != null && validBase()) {
+
+			recoveredEdits = baseModel != null;
+
+			replay();
+		}
+		else {
+
+			executor.execute(new SavedModelBaseWriter(null));
+		}
+
+		input = null;
+		baseData = null;
+		recording = true;
+	}
+
+	void setListener(JournalListener listener) {
+
+		this.listener = listener;
+	}
+
+	boolean recoveredEdits() {
+
+		return recoveredEdits;
+	}
+
+	Runnable createCheckpointer() {
+
+		return new Checkpointer();
+	}
+
+	void completeWrites() {
+
+		awaitCompletion(executor.submit(new Flusher()));
+	}
+
+	void discard() {
+
+		recording = false;
+
+		awaitCompletion(executor.submit(new Discarder()));
+	}
+
+	private void readHeader() throws IOException {
+
+		byte[] content = Files.readAllBytes(file.toPath());
+		SnapshotInput fileInput = new SnapshotInput(ByteBuffer.wrap(content));
+
+		if (fileInput.readInt() != JOURNAL_MAGIC || fileInput.readInt() != JOURNAL_VERSION) {
+
+			return;
+		}
+
+		if (!Arrays.equals(fileInput.readBytes(), FileUtils.hash(configFile))) {
+
+			return;
+		}
+
+		baseType = fileInput.readInt();
+		baseData = fileInput.readBytes();
+
+		input = fileInput;
+	}
+
+	private boolean validBase() {
+
+		if (baseType == SNAPSHOT_BASE) {
+
+			return model == baseModel;
+		}
+
+		try {
+
+			return Arrays.equals(baseData, FileUtils.hash(dynamicOntologyFile));
+		}
+		catch (IOException e) {
+
+			return false;
+		}
+	}
+
+	private void replay() {
+
+		JournalReplayer replayer = new JournalReplayer(model);
+		int recordsEnd = input.getPosition();
+
+		model.getEditActions().startTracking();
+
+		while (!input.atEnd()) {
+
+			byte[] record = readRecordOrNull();
+
+			if (record == null) {
+
+				break;
+			}
+
+			if (!replayRecord(replayer, record)) {
+
+				rebase();
+
+				return;
+			}
+
+			recordsEnd = input.getPosition();
+			recoveredEdits = true;
+		}
+
+		executor.execute(new Resumer(recordsEnd));
+	}
+
+	private byte[] readRecordOrNull() {
+
+		try {
+
+			return input.readBytes();
+		}
+		catch (RuntimeException e) {
+
+			return null;
+		}
+	}
+
+	private boolean replayRecord(JournalReplayer replayer, byte[] record) {
+
+		int previousReplayedActions = replayedActions;
+
+		try {
+
+			boolean newAction = replayer.replay(record);
+
+			return (replayedActions > previousReplayedActions) == newAction;
+		}
+		catch (RuntimeException e) {
+
+			return false;
+		}
+	}
+
+	private void onHistoryActionReperformed(EditAction action, byte[] record) {
+
+		if (journalledActions.contains(action)) {
+
+			append(record);
+		}
+		else {
+
+			rebase();
+		}
+	}
+
+	private synchronized void append(byte[] record) {
+
+		unflushedRecords.add(record);
+
+		for (Checkpoint checkpoint : checkpoints) {
+
+			checkpoint.records.add(record);
+		}
+
+		if (!flushScheduled) {
+
+			flushScheduled = true;
+
+			executor.schedule(new Flusher(), FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void rebase() {
+
+		synchronized (this) {
+
+			unflushedRecords.clear();
+			checkpoints.clear();
+		}
+
+		journalledActions.clear();
+
+		executor.execute(new SnapshotBaseWriter(snapshot.renderContent(model)));
+	}
+
+	private synchronized List<byte[]> takeUnflushedRecords() {
+
+		List<byte[]> records = new ArrayList<byte[]>(unflushedRecords);
+
+		unflushedRecords.clear();
+		flushScheduled = false;
+
+		return records;
+	}
+
+	private void writeRecords(List<byte[]> records) throws IOException {
+
+		if (output != null && !records.isEmpty()) {
+
+			output.write(renderRecords(records));
+			output.getChannel().force(false);
+		}
+	}
+
+	private void rewrite(int newBaseType, byte[] newBaseData, List<byte[]> records) throws IOException {
+
+		File tempFile = new File(file.getPath() + TEMP_FILE_SUFFIX);
+
+		try {
+
+			writeToFile(tempFile, renderHeader(newBaseType, newBaseData), renderRecords(records));
+			closeOutput();
+
+			FileUtils.replaceFile(tempFile, file);
+		}
+		catch (IOException e) {
+
+			tempFile.delete();
+
+			throw e;
+		}
+
+		output = new FileOutputStream(file, true);
+	}
+
+	private byte[] renderHeader(int newBaseType, byte[] newBaseData) throws IOException {
+
+		SnapshotOutput header = new SnapshotOutput();
+
+		header.writeInt(JOURNAL_MAGIC);
+		header.writeInt(JOURNAL_VERSION);
+		header.writeBytes(FileUtils.hash(configFile));
+		header.writeInt(newBaseType);
+		header.writeBytes(newBaseData);
+
+		return header.toByteArray();
+	}
+
+	private byte[] renderRecords(List<byte[]> records) {
+
+		SnapshotOutput recordsOutput = new SnapshotOutput();
+
+		for (byte[] record : records) {
+
+			recordsOutput.writeBytes(record);
+		}
+
+		return recordsOutput.toByteArray();
+	}
+
+	private void writeToFile(File targetFile, byte[] header, byte[] records) throws IOException {
+
+		FileOutputStream fileOutput = new FileOutputStream(targetFile);
+
+		try {
+
+			fileOutput.write(header);
+			fileOutput.write(records);
+			fileOutput.getChannel().force(true);
+		}
+		finally {
+
+			fileOutput.close();
+		}
+	}
+
+	private void disable() {
+
+		try {
+
+			closeOutput();
+		}
+		catch (IOException e) {
+
+			output = null;
+		}
+
+		file.delete();
+	}
+
+	private void onFailed(IOException exception) {
+
+		if (listener != null) {
+
+			listener.onJournalFailed(exception);
+		}
+	}
+
+	private void closeOutput() throws IOException {
+
+		if (output != null) {
+
+			output.close();
+
+			output = null;
+		}
+	}
+
+	private void awaitCompletion(Future<?> task) {
+
+		getCompleted(task);
+	}
+
+	private <T>T getCompleted(Future<T> task) {
+
+		try {
+
+			return task.get();
+		}
+		catch (InterruptedException e) {
+
+			throw new RuntimeException(e);
+		}
+		catch (ExecutionException e) {
+
+			throw new RuntimeException(e.getCause());
+		}
+	}
+}
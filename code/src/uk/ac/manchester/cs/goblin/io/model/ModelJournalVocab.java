@@ -0,0 +1,34 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+/**
+ * @author Colin Puleston
+ */
+class ModelJournalVocab {
+
+	static final String JOURNAL_FILENAME = "goblin.journal";
+
+	static final int JOURNAL_MAGIC = 0x474f424a;
+	static final int JOURNAL_VERSION = 2;
+
+	static final int SAVED_MODEL_BASE = 0;
+	static final int SNAPSHOT_BASE = 1;
+
+	static final int CORE_CONCEPT = 0;
+	static final int VALUE_CONCEPT = 1;
+
+	static final int CHILD_ADDITION = 0;
+	static final int CONCEPT_ID_RESET = 1;
+	static final int CONCEPT_MOVE = 2;
+	static final int CONCEPT_GROUP_MOVE = 3;
+	static final int CONCEPT_REMOVAL = 4;
+	static final int CONCEPT_GROUP_REMOVAL = 5;
+	static final int NEW_VALUE_HIERARCHY_ATTRIBUTE_ADDITION = 6;
+	static final int DYNAMIC_ATTRIBUTE_ADDITION = 7;
+	static final int VALID_VALUES_CONSTRAINT_ADDITION = 8;
+	static final int IMPLIED_VALUE_CONSTRAINT_ADDITION = 9;
+	static final int CONSTRAINT_REMOVAL = 10;
+	static final int ATTRIBUTE_ID_RESET = 11;
+	static final int DYNAMIC_ATTRIBUTE_REMOVAL = 12;
+	static final int UNDO = 13;
+	static final int REDO = 14;
+}
@@ -1,6 +1,7 @@
 package uk.ac.manchester.cs.goblin.io.model;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.semanticweb.owlapi.model.*;
 
@@ -18,6 +19,12 @@ class ModelLoader {
 
 	private Ontology ontology;
 	private OntologyIds ontologyIds;
+	private LoadProgress progress;
+
+	private ClassAxiomIndex classAxiomIndex;
+
+	private boolean parallelLoading;
+	private ForkJoinPool readerPool = null;
 
 	private Map<OWLClass, Concept> dynamicClassesToConcepts = new HashMap<OWLClass, Concept>();
 
@@ -33,33 +40,135 @@ class ModelLoader {
 		}
 	}
 
-	private abstract class RestrictionAxiomReader {
+	private class ClassNode {
 
-		private OWLClass sourceCls;
+		private OWLClass cls;
+		private EntityId id;
 
-		RestrictionAxiomReader(OWLClass sourceCls) {
+		private List<ClassNode> subNodes = new ArrayList<ClassNode>();
 
-			this.sourceCls = sourceCls;
+		ClassNode(OWLClass cls) {
+
+			this.cls = cls;
 		}
+	}
 
-		OWLClass getSourceClass() {
+	private class ClassTreeReader extends RecursiveAction {
 
-			return sourceCls;
-		}
+		static private final long serialVersionUID = -1;
 
-		<T extends OWLClassAxiom>Set<T> getSourceAxioms(Class<T> axiomCls) {
+		private ClassNode node;
+		private Map<OWLClass, ClassNode> readNodes;
 
-			Set<T> axioms = new HashSet<T>();
+		protected void compute() {
 
-			for (OWLClassAxiom axiom : ontology.getClassAxioms(sourceCls)) {
+			List<ClassTreeReader> subReaders = new ArrayList<ClassTreeReader>();
 
-				if (axiomCls.isAssignableFrom(axiom.getClass())) {
+			node.id = getEntityId(node.cls);
 
-					axioms.add(axiomCls.cast(axiom));
+			for (OWLClass subCls : getSubClasses(node.cls, true)) {
+
+				ClassNode subNode = new ClassNode(subCls);
+				ClassNode readNode = readNodes.putIfAbsent(subCls, subNode);
+
+				if (readNode == null) {
+
+					subReaders.add(new ClassTreeReader(subNode, readNodes));
 				}
+				else {
+
+					subNode = readNode;
+				}
+
+				node.subNodes.add(subNode);
 			}
 
-			return axioms;
+			performAll(subReaders);
+		}
+
+		ClassTreeReader(ClassNode node, Map<OWLClass, ClassNode> readNodes) {
+
+			this.node = node;
+			this.readNodes = readNodes;
+		}
+	}
+
+	private class ClassTreesReader extends RecursiveAction {
+
+		static private final long serialVersionUID = -1;
+
+		private List<ClassNode> rootNodes = new ArrayList<ClassNode>();
+
+		protected void compute() {
+
+			Map<OWLClass, ClassNode> readNodes = new ConcurrentHashMap<OWLClass, ClassNode>();
+			List<ClassTreeReader> readers = new ArrayList<ClassTreeReader>();
+
+			for (ClassNode rootNode : rootNodes) {
+
+				readers.add(new ClassTreeReader(rootNode, readNodes));
+			}
+
+			performAll(readers);
+		}
+
+		ClassTreesReader(List<OWLClass> rootClasses) {
+
+			for (OWLClass rootCls : rootClasses) {
+
+				rootNodes.add(new ClassNode(rootCls));
+			}
+		}
+
+		List<ClassNode> getRootNodes() {
+
+			return rootNodes;
+		}
+	}
+
+	private abstract class ConstraintReader extends RecursiveAction {
+
+		static private final long serialVersionUID = -1;
+
+		protected void compute() {
+
+			read();
+		}
+
+		abstract void read();
+
+		abstract void commit();
+	}
+
+	private class ConstraintsReader extends RecursiveAction {
+
+		static private final long serialVersionUID = -1;
+
+		private List<ConstraintReader> readers;
+
+		protected void compute() {
+
+			performAll(readers);
+		}
+
+		ConstraintsReader(List<ConstraintReader> readers) {
+
+			this.readers = readers;
+		}
+	}
+
+	private abstract class RestrictionAxiomReader {
+
+		private OWLClass sourceCls;
+
+		RestrictionAxiomReader(OWLClass sourceCls) {
+
+			this.sourceCls = sourceCls;
+		}
+
+		OWLClass getSourceClass() {
+
+			return sourceCls;
 		}
 
 		<E>E extractExactlyOne(Set<E> elements) {
@@ -107,17 +216,24 @@ class ModelLoader {
 
 			Set<R> restrictions = new HashSet<R>();
 
-			for (OWLSubClassOfAxiom axiom : getSourceAxioms(OWLSubClassOfAxiom.class)) {
+			for (OWLQuantifiedObjectRestriction restriction : getAllTypeRestrictions()) {
+
+				if (requiredProperty(restriction.getProperty())) {
 
-				if (axiom.getSubClass().equals(getSourceClass())) {
+					restrictions.add(restrictionType.cast(restriction));
+				}
+			}
 
-					R restriction = asRequiredRestrictionOrNull(axiom.getSuperClass());
+			return restrictions;
+		}
 
-					if (restriction != null) {
+		Set<R> findAllRestrictionsFor(OWLObjectProperty property) {
 
-						restrictions.add(restriction);
-					}
-				}
+			Set<R> restrictions = new HashSet<R>();
+
+			for (OWLQuantifiedObjectRestriction restriction : getTypeRestrictionsFor(property)) {
+
+				restrictions.add(restrictionType.cast(restriction));
 			}
 
 			return restrictions;
@@ -164,6 +280,16 @@ class ModelLoader {
 			return expr instanceof OWLObjectProperty && requiredProperty((OWLObjectProperty)expr);
 		}
 
+		private List<OWLQuantifiedObjectRestriction> getAllTypeRestrictions() {
+
+			return classAxiomIndex.getSubClassRestrictions(getSourceClass(), restrictionType);
+		}
+
+		private List<OWLQuantifiedObjectRestriction> getTypeRestrictionsFor(OWLObjectProperty property) {
+
+			return classAxiomIndex.getSubClassRestrictions(getSourceClass(), restrictionType, property);
+		}
+
 		private Set<OWLClass> extractFillerClasses(R restriction) {
 
 			OWLClassExpression filler = restriction.getFiller();
@@ -224,13 +350,12 @@ class ModelLoader {
 
 			Collection<EntityId> loadAllForClass() {
 
-				int i = 0;
-
 				for (OWLObjectAllValuesFrom restriction : findAllRequiredRestrictions()) {
 
+					EntityId attrId = getEntityId(restriction.getProperty().asOWLObjectProperty());
 					Concept target = extractSingleConceptFromFiller(restriction);
 
-					source.addDynamicAttribute(localAttributeIds.get(i++), target);
+					source.addDynamicAttribute(attrId, target);
 				}
 
 				return localAttributeIds;
@@ -320,6 +445,8 @@ class ModelLoader {
 
 	private class AttributeConstraintLoader extends AttributeVisitor {
 
+		private List<ConstraintReader> readers = new ArrayList<ConstraintReader>();
+
 		public void visit(CoreAttribute attribute, SimpleAttributeConfig config) {
 
 			OWLClass rootSource = getCoreClass(attribute.getRootSourceConcept());
@@ -336,7 +463,13 @@ class ModelLoader {
 
 			for (OWLClass anchorSub : getSubClasses(anchor, false)) {
 
-				new AnchoredConstraintLoader(attribute, anchor, anchorSub, sourceProp, targetProp);
+				readers.add(
+					new AnchoredConstraintLoader(
+							attribute,
+							anchor,
+							anchorSub,
+							sourceProp,
+							targetProp));
 			}
 		}
 
@@ -346,7 +479,7 @@ class ModelLoader {
 
 			for (OWLClass source : getSubClasses(rootSource, false)) {
 
-				new HierarchicalConstraintLoader(attribute, source);
+				readers.add(new HierarchicalConstraintLoader(attribute, source));
 			}
 		}
 
@@ -365,12 +498,24 @@ class ModelLoader {
 
 			for (OWLClass source : getSubClasses(rootSource, false)) {
 
-				new LinkingPropertyConstraintLoader(attribute, source, linkingProperty);
+				readers.add(new LinkingPropertyConstraintLoader(attribute, source, linkingProperty));
+			}
+		}
+
+		void loadAll() {
+
+			perform(new ConstraintsReader(readers));
+
+			for (ConstraintReader reader : readers) {
+
+				reader.commit();
 			}
 		}
 	}
 
-	private abstract class PropertyConstraintLoader {
+	private abstract class PropertyConstraintLoader extends ConstraintReader {
+
+		static private final long serialVersionUID = -1;
 
 		private Attribute attribute;
 
@@ -379,6 +524,11 @@ class ModelLoader {
 		private AllTargetExtractor allTargetExtractor;
 		private SomeTargetExtractor someTargetExtractor;
 
+		private Concept source = null;
+
+		private Set<Concept> validValuesTargets = null;
+		private Set<Concept> impliedValueTargets = Collections.emptySet();
+
 		private abstract class TargetExtractor
 									<R extends OWLQuantifiedObjectRestriction>
 									extends TypeRestrictionReader<R> {
@@ -441,42 +591,48 @@ class ModelLoader {
 			someTargetExtractor = new SomeTargetExtractor(sourceCls);
 		}
 
-		void checkLoad(Concept source) {
+		void read() {
 
-			ConstraintsOption constraintsOpt = attribute.getConstraintsOption();
+			source = lookForSourceConcept();
 
-			if (constraintsOpt.validValues()) {
+			if (source != null) {
 
-				checkLoadValidValuesConstraint(source);
-			}
+				ConstraintsOption constraintsOpt = attribute.getConstraintsOption();
 
-			if (constraintsOpt.impliedValues()) {
+				if (constraintsOpt.validValues()) {
 
-				checkLoadImpliedValueConstraints(source);
+					validValuesTargets = allTargetExtractor.lookForAllTargetConcepts();
+				}
+
+				if (constraintsOpt.impliedValues()) {
+
+					impliedValueTargets = someTargetExtractor.findAllSomeTargetConcepts();
+				}
 			}
 		}
 
-		private void checkLoadValidValuesConstraint(Concept source) {
-
-			Set<Concept> targets = allTargetExtractor.lookForAllTargetConcepts();
+		void commit() {
 
-			if (targets != null) {
+			if (validValuesTargets != null) {
 
-				source.addValidValuesConstraint(attribute, targets);
+				source.addValidValuesConstraint(attribute, validValuesTargets);
 			}
-		}
 
-		private void checkLoadImpliedValueConstraints(Concept source) {
-
-			for (Concept target : someTargetExtractor.findAllSomeTargetConcepts()) {
+			for (Concept target : impliedValueTargets) {
 
 				source.addImpliedValueConstraint(attribute, target);
 			}
 		}
+
+		abstract Concept lookForSourceConcept();
 	}
 
 	private class LinkingPropertyConstraintLoader extends PropertyConstraintLoader {
 
+		static private final long serialVersionUID = -1;
+
+		private OWLClass sourceCls;
+
 		LinkingPropertyConstraintLoader(
 			Attribute attribute,
 			OWLClass sourceCls,
@@ -484,15 +640,24 @@ class ModelLoader {
 
 			super(attribute, sourceCls, linkingProperty);
 
-			checkLoad(getConcept(sourceCls));
+			this.sourceCls = sourceCls;
+		}
+
+		Concept lookForSourceConcept() {
+
+			return getConcept(sourceCls);
 		}
 	}
 
 	private class AnchoredConstraintLoader extends PropertyConstraintLoader {
 
+		static private final long serialVersionUID = -1;
+
 		private OWLClass anchor;
 		private OWLClass anchorSub;
 
+		private OWLObjectProperty sourceProperty;
+
 		private class SourceExtractor extends TypeRestrictionReader<OWLObjectSomeValuesFrom> {
 
 			private OWLObjectProperty sourceProperty;
@@ -544,21 +709,9 @@ class ModelLoader {
 
 				Set<OWLClassExpression> exprs = new HashSet<OWLClassExpression>();
 
-				for (OWLEquivalentClassesAxiom axiom : getSourceAxioms(OWLEquivalentClassesAxiom.class)) {
+				for (Set<OWLClassExpression> equivExprs : classAxiomIndex.getEquivalents(anchorSub)) {
 
-					exprs.add(extractAnchorSubEquivExpr(axiom));
-				}
-
-				return extractExactlyOne(exprs);
-			}
-
-			private OWLClassExpression extractAnchorSubEquivExpr(OWLEquivalentClassesAxiom axiom) {
-
-				Set<OWLClassExpression> exprs = axiom.getClassExpressions();
-
-				if (!exprs.remove(anchorSub)) {
-
-					throw createBadAxiomsException();
+					exprs.add(extractExactlyOne(equivExprs));
 				}
 
 				return extractExactlyOne(exprs);
@@ -588,47 +741,52 @@ class ModelLoader {
 
 			this.anchor = anchor;
 			this.anchorSub = anchorSub;
+			this.sourceProperty = sourceProperty;
+		}
 
-			Concept source = new SourceExtractor(sourceProperty).lookForSourceConcept();
+		Concept lookForSourceConcept() {
 
-			if (source != null) {
-
-				checkLoad(source);
-			}
+			return new SourceExtractor(sourceProperty).lookForSourceConcept();
 		}
 	}
 
-	private class HierarchicalConstraintLoader {
+	private class HierarchicalConstraintLoader extends ConstraintReader {
+
+		static private final long serialVersionUID = -1;
 
 		private Attribute attribute;
+		private OWLClass sourceCls;
+
+		private Concept source = null;
+		private List<Concept> targets = new ArrayList<Concept>();
 
 		HierarchicalConstraintLoader(Attribute attribute, OWLClass sourceCls) {
 
 			this.attribute = attribute;
-
-			loadAll(sourceCls);
+			this.sourceCls = sourceCls;
 		}
 
-		private void loadAll(OWLClass sourceCls) {
+		void read() {
 
-			Concept source = getConcept(sourceCls);
+			source = getConcept(sourceCls);
 
 			for (OWLClass targetCls : getSuperClasses(sourceCls, true)) {
 
 				if (!rootSource(targetCls)) {
 
-					checkLoad(source, targetCls);
+					targets.add(getConcept(targetCls));
 				}
 			}
 		}
 
-		private void checkLoad(Concept source, OWLClass targetCls) {
+		void commit() {
 
-			Concept target = getConcept(targetCls);
+			for (Concept target : targets) {
 
-			if (validTarget(target)) {
+				if (validTarget(target)) {
 
-				source.addImpliedValueConstraint(attribute, target);
+					source.addImpliedValueConstraint(attribute, target);
+				}
 			}
 		}
 
@@ -643,20 +801,39 @@ class ModelLoader {
 		}
 	}
 
-	ModelLoader(ModelConfig modelConfig, Ontology ontology, OntologyIds ontologyIds) {
+	ModelLoader(
+		ModelConfig modelConfig,
+		Ontology ontology,
+		OntologyIds ontologyIds,
+		LoadProgress progress,
+		boolean parallelLoading) {
 
 		this.ontology = ontology;
 		this.ontologyIds = ontologyIds;
+		this.progress = progress;
+		this.parallelLoading = parallelLoading;
 
 		model = modelConfig.createModel();
 	}
 
 	Model load() throws BadStartupException {
 
+		classAxiomIndex = new ClassAxiomIndex(ontology);
+
+		if (parallelLoading) {
+
+			readerPool = new ForkJoinPool();
+		}
+
 		try {
 
+			progress.startStage(LoadStage.LOAD_CONCEPTS);
 			loadConcepts();
+
+			progress.startStage(LoadStage.LOAD_ATTRIBUTES);
 			loadDynamicAttributes();
+
+			progress.startStage(LoadStage.LOAD_CONSTRAINTS);
 			loadConstraints();
 		}
 		catch (InternalLoadException e) {
@@ -664,35 +841,67 @@ class ModelLoader {
 			e.printStackTrace();
 			throw new BadDynamicOntologyException(e);
 		}
+		finally {
+
+			if (readerPool != null) {
+
+				readerPool.shutdown();
+			}
+		}
 
 		return model;
 	}
 
 	private void loadConcepts() {
 
+		List<Concept> roots = new ArrayList<Concept>();
+		List<OWLClass> rootClasses = new ArrayList<OWLClass>();
+
 		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
 
 			Concept root = hierarchy.getRootConcept();
 
-			loadConceptsFrom(root, getRootClass(root));
+			roots.add(root);
+			rootClasses.add(getRootClass(root));
+		}
+
+		Iterator<ClassNode> rootNodes = readClassTrees(rootClasses).iterator();
+
+		for (Concept root : roots) {
+
+			loadConceptsFrom(root, rootNodes.next());
 		}
 	}
 
 	private void loadConceptsFrom(Concept concept, OWLClass cls) {
 
-		for (OWLClass subCls : getSubClasses(cls, true)) {
+		loadConceptsFrom(concept, readClassTrees(Collections.singletonList(cls)).get(0));
+	}
+
+	private void loadConceptsFrom(Concept concept, ClassNode node) {
+
+		for (ClassNode subNode : node.subNodes) {
 
-			if (!dynamicClassesToConcepts.containsKey(subCls)) {
+			if (!dynamicClassesToConcepts.containsKey(subNode.cls)) {
 
-				Concept subConcept = addSubConcept(concept, subCls);
+				Concept subConcept = addSubConcept(concept, subNode.id);
 
-				dynamicClassesToConcepts.put(subCls, subConcept);
+				dynamicClassesToConcepts.put(subNode.cls, subConcept);
 
-				loadConceptsFrom(subConcept, subCls);
+				loadConceptsFrom(subConcept, subNode);
 			}
 		}
 	}
 
+	private List<ClassNode> readClassTrees(List<OWLClass> rootClasses) {
+
+		ClassTreesReader reader = new ClassTreesReader(rootClasses);
+
+		perform(reader);
+
+		return reader.getRootNodes();
+	}
+
 	private void loadDynamicAttributes() {
 
 		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
@@ -716,11 +925,11 @@ class ModelLoader {
 				}
 			}
 		}
-	}
 
-	private Concept addSubConcept(Concept concept, OWLClass subCls) {
+		attributeConstraintLoader.loadAll();
+	}
 
-		EntityId childId = getEntityId(subCls);
+	private Concept addSubConcept(Concept concept, EntityId childId) {
 
 		if (!childId.dynamicId()) {
 
@@ -735,6 +944,33 @@ class ModelLoader {
 		return concept.addChild(childId);
 	}
 
+	private void perform(ForkJoinTask<?> task) {
+
+		if (readerPool != null) {
+
+			readerPool.invoke(task);
+		}
+		else {
+
+			task.invoke();
+		}
+	}
+
+	private void performAll(List<? extends ForkJoinTask<?>> tasks) {
+
+		if (readerPool != null) {
+
+			ForkJoinTask.invokeAll(tasks);
+		}
+		else {
+
+			for (ForkJoinTask<?> task : tasks) {
+
+				task.invoke();
+			}
+		}
+	}
+
 	private Set<OWLClass> getSubClasses(OWLClass cls, boolean direct) {
 
 		return ontology.getSubClasses(cls, direct);
@@ -1,6 +1,10 @@
 package uk.ac.manchester.cs.goblin.io.model;
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.semanticweb.owlapi.model.*;
 
 import uk.ac.manchester.cs.goblin.model.*;
 import uk.ac.manchester.cs.goblin.config.*;
@@ -16,23 +20,179 @@ public class ModelSerialiser {
 	private String projectName;
 
 	private File dynamicOntologyFile;
+	private OntologyFormat dynamicOntologyFormat;
 
-	private Ontology ontology;
+	private Ontology ontology = null;
+	private Future<Ontology> ontologyLoad = null;
 	private OntologyIds ontologyIds;
 
 	private Model model;
+	private ModelSnapshot snapshot;
+	private ModelJournal journal;
+
+	private DynamicModelRenderer renderer;
+	private volatile boolean fullRenderRequired = true;
+
+	private ExecutorService saveExecutor = Executors.newSingleThreadExecutor(new SaveThreadFactory());
+
+	private class SaveThreadFactory implements ThreadFactory {
+
+		public Thread newThread(Runnable runnable) {
+
+			Thread thread = new Thread(runnable, "Goblin-Save");
+
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	private class OntologyLoader implements Callable<Ontology> {
+
+		public Ontology call() throws BadStartupException {
+
+			return new Ontology(dynamicOntologyFile);
+		}
+	}
+
+	private class ModelWriter implements Runnable {
+
+		private Set<OWLAxiom> axioms = null;
+		private AxiomUpdates axiomUpdates = null;
+
+		private Runnable snapshotWriter;
+		private Runnable journalCheckpointer;
+
+		public void run() {
+
+			Ontology ontology = getOntology();
+
+			updateAxioms(ontology);
+			ontology.write(dynamicOntologyFile, dynamicOntologyFormat);
+
+			snapshotWriter.run();
+			journalCheckpointer.run();
+		}
+
+		ModelWriter() {
+
+			if (fullRenderRequired) {
+
+				fullRenderRequired = false;
+				axioms = renderer.render(model);
+			}
+			else {
+
+				axiomUpdates = renderer.renderUpdates(model);
+			}
+
+			snapshotWriter = snapshot.createWriter(model);
+			journalCheckpointer = journal.createCheckpointer();
+		}
+
+		private void updateAxioms(Ontology ontology) {
+
+			try {
+
+				if (axioms != null) {
+
+					ontology.updateAxioms(axioms);
+				}
+				else {
+
+					axiomUpdates.applyTo(ontology);
+				}
+			}
+			catch (RuntimeException e) {
+
+				fullRenderRequired = true;
+
+				throw e;
+			}
+		}
+	}
+
+	private class BackgroundModelWriter implements Runnable {
+
+		private ModelWriter writer = new ModelWriter();
+		private SaveListener listener;
+
+		public void run() {
+
+			try {
+
+				writer.run();
+				listener.onSaveCompleted();
+			}
+			catch (RuntimeException e) {
+
+				listener.onSaveFailed(e);
+			}
+		}
+
+		BackgroundModelWriter(SaveListener listener) {
+
+			this.listener = listener;
+		}
+	}
 
 	public ModelSerialiser(ProjectDir projectDir) throws BadStartupException {
 
+		this(projectDir, new LoadProgress());
+	}
+
+	public ModelSerialiser(ProjectDir projectDir, LoadMonitor monitor) throws BadStartupException {
+
+		this(projectDir, new LoadProgress(monitor));
+	}
+
+	private ModelSerialiser(ProjectDir projectDir, LoadProgress progress) throws BadStartupException {
+
+		progress.startStage(LoadStage.PARSE_CONFIG);
+
 		ConfigFileLoader configFileLoader = new ConfigFileLoader(projectDir);
 
 		projectName = configFileLoader.getProjectName();
 		dynamicOntologyFile = configFileLoader.getDynamicOntologyFile();
+		dynamicOntologyFormat = configFileLoader.getDynamicOntologyFormat();
+
+		progress.startStage(LoadStage.LOAD_SNAPSHOT);
+
+		snapshot = new ModelSnapshot(projectDir);
+		journal = new ModelJournal(projectDir, dynamicOntologyFile, snapshot);
+
+		model = journal.lookForBaseModel(configFileLoader);
+
+		if (model == null) {
+
+			model = snapshot.lookForModel(configFileLoader);
+		}
+
+		if (model != null) {
+
+			ontologyIds = new OntologyIds(snapshot.getDynamicOntologyIRI());
+			ontologyLoad = saveExecutor.submit(new OntologyLoader());
+		}
+		else {
+
+			ontology = new Ontology(dynamicOntologyFile, progress);
+			ontologyIds = new OntologyIds(ontology.getOntologyIRI());
 
-		ontology = new Ontology(dynamicOntologyFile);
-		ontologyIds = new OntologyIds(ontology.getOntologyIRI());
+			model = loadModel(configFileLoader, progress);
 
-		model = loadModel(configFileLoader);
+			saveExecutor.execute(snapshot.createWriter(model));
+		}
+
+		renderer = new DynamicModelRenderer(ontologyIds);
+		model.addUpdateListener(renderer);
+
+		model.getEditActions().setHistoryLimits(
+									configFileLoader.getUndoHistoryLimit(),
+									configFileLoader.getUndoHistorySizeLimit());
+
+		progress.startStage(LoadStage.RECOVER_EDITS);
+
+		journal.recover(model);
 	}
 
 	public String getProjectName() {
@@ -50,15 +210,77 @@ public class ModelSerialiser {
 		return model;
 	}
 
+	public boolean recoveredUnsavedEdits() {
+
+		return journal.recoveredEdits();
+	}
+
 	public void save() {
 
-		new DynamicModelRenderer(ontology, ontologyIds).write(model, dynamicOntologyFile);
+		awaitCompletion(saveExecutor.submit(new ModelWriter()));
 	}
 
-	private Model loadModel(ConfigFileLoader configFileLoader) throws BadStartupException {
+	public void saveInBackground(SaveListener listener) {
+
+		saveExecutor.execute(new BackgroundModelWriter(listener));
+	}
+
+	public void setJournalListener(JournalListener listener) {
+
+		journal.setListener(listener);
+	}
+
+	public void discardUnsavedEdits() {
+
+		journal.discard();
+	}
+
+	public void completeBackgroundSaves() {
+
+		awaitCompletion(saveExecutor.submit(new Runnable() {
+
+			public void run() {
+			}
+		}));
+
+		journal.completeWrites();
+	}
+
+	private Model loadModel(
+					ConfigFileLoader configFileLoader,
+					LoadProgress progress)
+					throws BadStartupException {
+
+		ModelConfig modelConfig = configFileLoader.loadModelConfig(snapshot.recordLabels(ontology));
+
+		boolean parallelLoading = configFileLoader.parallelLoading();
+
+		return new ModelLoader(modelConfig, ontology, ontologyIds, progress, parallelLoading).load();
+	}
+
+	private Ontology getOntology() {
+
+		if (ontology == null) {
+
+			ontology = awaitCompletion(ontologyLoad);
+		}
+
+		return ontology;
+	}
+
+	private <T>T awaitCompletion(Future<T> task) {
+
+		try {
+
+			return task.get();
+		}
+		catch (InterruptedException e) {
 
-		ModelConfig modelConfig = configFileLoader.loadModelConfig(ontology);
+			throw new RuntimeException(e);
+		}
+		catch (ExecutionException e) {
 
-		return new ModelLoader(modelConfig, ontology, ontologyIds).load();
+			throw new RuntimeException(e.getCause());
+		}
 	}
 }
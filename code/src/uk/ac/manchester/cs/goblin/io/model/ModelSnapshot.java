@@ -0,0 +1,270 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+import uk.ac.manchester.cs.goblin.config.*;
+import uk.ac.manchester.cs.goblin.io.*;
+import uk.ac.manchester.cs.goblin.io.ontology.*;
+import uk.ac.manchester.cs.goblin.io.config.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ModelSnapshot extends ModelSnapshotVocab {
+
+	static private final String TEMP_FILE_SUFFIX = ".tmp";
+
+	private File file;
+	private File configFile;
+
+	private List<File> sourceFiles = null;
+	private IRI dynamicOntologyIRI = null;
+	private SnapshotLabels labels = null;
+
+	private class SnapshotWriter implements Runnable {
+
+		private byte[] content;
+
+		public void run() {
+
+			File tempFile = new File(file.getPath() + TEMP_FILE_SUFFIX);
+
+			try {
+
+				writeToFile(tempFile, renderHeader(), content);
+				FileUtils.replaceFile(tempFile, file);
+			}
+			catch (IOException e) {
+
+				tempFile.delete();
+				file.delete();
+			}
+		}
+
+		SnapshotWriter(Model model) {
+
+			content = renderContent(model);
+		}
+	}
+
+	private class NullWriter implements Runnable {
+
+		public void run() {
+		}
+	}
+
+	ModelSnapshot(ProjectDir projectDir) {
+
+		file = projectDir.getFile(SNAPSHOT_FILENAME);
+		configFile = projectDir.getConfigFile();
+	}
+
+	Model lookForModel(ConfigFileLoader configFileLoader) throws BadStartupException {
+
+		if (file.exists()) {
+
+			try {
+
+				return loadModel(configFileLoader, new SnapshotInput(mapFile()));
+			}
+			catch (IOException e) {
+
+				clearLoadedState();
+			}
+			catch (RuntimeException e) {
+
+				clearLoadedState();
+			}
+		}
+
+		return null;
+	}
+
+	EntityLabels recordLabels(Ontology ontology) {
+
+		dynamicOntologyIRI = ontology.getOntologyIRI();
+		labels = new SnapshotLabels(ontology);
+
+		List<File> ontologyFiles = ontology.getDocumentFiles();
+
+		if (ontologyFiles != null) {
+
+			sourceFiles = new ArrayList<File>();
+
+			sourceFiles.add(configFile);
+			sourceFiles.addAll(ontologyFiles);
+		}
+
+		return labels;
+	}
+
+	IRI getDynamicOntologyIRI() {
+
+		return dynamicOntologyIRI;
+	}
+
+	Runnable createWriter(Model model) {
+
+		return sourceFiles != null ? new SnapshotWriter(model) : new NullWriter();
+	}
+
+	byte[] renderContent(Model model) {
+
+		SnapshotOutput output = new SnapshotOutput();
+
+		output.writeString(dynamicOntologyIRI.toString());
+		labels.render(output);
+		new ModelSnapshotRenderer(output).render(model);
+
+		return output.toByteArray();
+	}
+
+	byte[] renderVerifiableContent(byte[] content) throws IOException {
+
+		SnapshotOutput output = new SnapshotOutput();
+
+		renderSourceFiles(output);
+		output.writeContent(content);
+
+		return output.toByteArray();
+	}
+
+	Model lookForVerifiedContent(
+				ConfigFileLoader configFileLoader,
+				SnapshotInput input)
+				throws BadStartupException, IOException {
+
+		List<File> files = lookForSourceFiles(input);
+
+		if (files == null) {
+
+			return null;
+		}
+
+		Model model = loadContent(configFileLoader, input);
+
+		sourceFiles = files;
+
+		return model;
+	}
+
+	private Model loadContent(
+					ConfigFileLoader configFileLoader,
+					SnapshotInput input)
+					throws BadStartupException {
+
+		dynamicOntologyIRI = IRI.create(input.readString());
+		labels = new SnapshotLabels();
+
+		labels.load(input);
+
+		ModelConfig modelConfig = configFileLoader.loadModelConfig(labels);
+
+		return new ModelSnapshotLoader(modelConfig, input).load();
+	}
+
+	private Model loadModel(
+					ConfigFileLoader configFileLoader,
+					SnapshotInput input)
+					throws BadStartupException, IOException {
+
+		if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_VERSION) {
+
+			return null;
+		}
+
+		return lookForVerifiedContent(configFileLoader, input);
+	}
+
+	private List<File> lookForSourceFiles(SnapshotInput input) throws IOException {
+
+		List<File> files = new ArrayList<File>();
+
+		for (int i = input.readInt(); i > 0; i--) {
+
+			File sourceFile = new File(input.readString());
+
+			if (!sourceFile.isFile() || !Arrays.equals(input.readBytes(), FileUtils.hash(sourceFile))) {
+
+				return null;
+			}
+
+			files.add(sourceFile);
+		}
+
+		return files;
+	}
+
+	private void renderSourceFiles(SnapshotOutput output) throws IOException {
+
+		if (sourceFiles == null) {
+
+			throw new IOException("Model source files not known");
+		}
+
+		output.writeInt(sourceFiles.size());
+
+		for (File sourceFile : sourceFiles) {
+
+			output.writeString(sourceFile.getAbsolutePath());
+			output.writeBytes(FileUtils.hash(sourceFile));
+		}
+	}
+
+	private void clearLoadedState() {
+
+		sourceFiles = null;
+		dynamicOntologyIRI = null;
+		labels = null;
+	}
+
+	private ByteBuffer mapFile() throws IOException {
+
+		FileInputStream input = new FileInputStream(file);
+
+		try {
+
+			FileChannel channel = input.getChannel();
+
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		finally {
+
+			input.close();
+		}
+	}
+
+	private byte[] renderHeader() throws IOException {
+
+		SnapshotOutput output = new SnapshotOutput();
+
+		output.writeInt(SNAPSHOT_MAGIC);
+		output.writeInt(SNAPSHOT_VERSION);
+
+		renderSourceFiles(output);
+
+		return output.toByteArray();
+	}
+
+	private void writeToFile(File targetFile, byte[] header, byte[] content) throws IOException {
+
+		FileOutputStream output = new FileOutputStream(targetFile);
+
+		try {
+
+			output.write(header);
+			output.write(content);
+			output.getChannel().force(true);
+		}
+		finally {
+
+			output.close();
+		}
+	}
+}
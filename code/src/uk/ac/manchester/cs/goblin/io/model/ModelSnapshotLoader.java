@@ -0,0 +1,165 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+import uk.ac.manchester.cs.goblin.config.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ModelSnapshotLoader extends ModelSnapshotVocab {
+
+	private SnapshotInput input;
+
+	private Model model;
+	private List<Hierarchy> coreHierarchies;
+
+	private List<Hierarchy> valueHierarchies = new ArrayList<Hierarchy>();
+	private List<DynamicAttribute> dynamicAttributes = new ArrayList<DynamicAttribute>();
+
+	ModelSnapshotLoader(ModelConfig modelConfig, SnapshotInput input) {
+
+		this.input = input;
+
+		model = modelConfig.createModel();
+		coreHierarchies = model.getCoreHierarchies();
+	}
+
+	Model load() {
+
+		if (input.readInt() != coreHierarchies.size()) {
+
+			throw new RuntimeException("Snapshot does not match model configuration");
+		}
+
+		for (Hierarchy hierarchy : coreHierarchies) {
+
+			loadConceptsFrom(hierarchy.getRootConcept());
+		}
+
+		for (Hierarchy hierarchy : coreHierarchies) {
+
+			loadDynamicAttributes(hierarchy);
+		}
+
+		for (Hierarchy hierarchy : coreHierarchies) {
+
+			if (hierarchy.potentiallyHasAttributes()) {
+
+				loadConstraintsFrom(hierarchy.getRootConcept());
+			}
+		}
+
+		return model;
+	}
+
+	private void loadConceptsFrom(Concept concept) {
+
+		for (int i = input.readInt(); i > 0; i--) {
+
+			loadConceptsFrom(concept.addChild(input.readEntityId()));
+		}
+	}
+
+	private void loadDynamicAttributes(Hierarchy hierarchy) {
+
+		for (int i = input.readInt(); i > 0; i--) {
+
+			Concept source = hierarchy.getConcept(input.readEntityId());
+			EntityId attrId = input.readEntityId();
+			Concept target = loadDynamicAttributeTarget();
+
+			dynamicAttributes.add(source.addDynamicAttribute(attrId, target));
+		}
+	}
+
+	private Concept loadDynamicAttributeTarget() {
+
+		int targetType = input.readInt();
+
+		if (targetType == CORE_TARGET) {
+
+			return getCoreConcept(input.readEntityId());
+		}
+
+		if (targetType == SHARED_VALUE_HIERARCHY_TARGET) {
+
+			return valueHierarchies.get(input.readInt()).getRootConcept();
+		}
+
+		Hierarchy hierarchy = model.createDynamicValueHierarchy(input.readEntityId());
+		Concept root = hierarchy.getRootConcept();
+
+		valueHierarchies.add(hierarchy);
+		loadConceptsFrom(root);
+
+		return root;
+	}
+
+	private void loadConstraintsFrom(Concept concept) {
+
+		for (Concept sub : concept.getChildren()) {
+
+			loadConstraintsFor(sub);
+			loadConstraintsFrom(sub);
+		}
+	}
+
+	private void loadConstraintsFor(Concept concept) {
+
+		for (int i = input.readInt(); i > 0; i--) {
+
+			Attribute attribute = loadAttribute(concept);
+			ConstraintSemantics semantics = ConstraintSemantics.values()[input.readInt()];
+			List<Concept> targets = loadTargets(attribute);
+
+			if (semantics.validValues()) {
+
+				concept.addValidValuesConstraint(attribute, targets);
+			}
+			else {
+
+				for (Concept target : targets) {
+
+					concept.addImpliedValueConstraint(attribute, target);
+				}
+			}
+		}
+	}
+
+	private Attribute loadAttribute(Concept source) {
+
+		if (input.readBoolean()) {
+
+			return dynamicAttributes.get(input.readInt());
+		}
+
+		return source.getHierarchy().getCoreAttributes().get(input.readInt());
+	}
+
+	private List<Concept> loadTargets(Attribute attribute) {
+
+		Hierarchy targetHierarchy = attribute.getRootTargetConcept().getHierarchy();
+		List<Concept> targets = new ArrayList<Concept>();
+
+		for (int i = input.readInt(); i > 0; i--) {
+
+			targets.add(targetHierarchy.getConcept(input.readEntityId()));
+		}
+
+		return targets;
+	}
+
+	private Concept getCoreConcept(EntityId id) {
+
+		Concept concept = model.lookForConcept(id);
+
+		if (concept == null) {
+
+			throw new RuntimeException("Cannot find concept: " + id);
+		}
+
+		return concept;
+	}
+}
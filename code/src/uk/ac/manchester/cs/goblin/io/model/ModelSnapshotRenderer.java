@@ -0,0 +1,158 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ModelSnapshotRenderer extends ModelSnapshotVocab {
+
+	private SnapshotOutput output;
+
+	private List<Hierarchy> coreHierarchies;
+
+	private Map<Hierarchy, Integer> valueHierarchyIndexes = new HashMap<Hierarchy, Integer>();
+	private Map<DynamicAttribute, Integer> dynamicAttributeIndexes = new HashMap<DynamicAttribute, Integer>();
+
+	ModelSnapshotRenderer(SnapshotOutput output) {
+
+		this.output = output;
+	}
+
+	void render(Model model) {
+
+		coreHierarchies = model.getCoreHierarchies();
+
+		output.writeInt(coreHierarchies.size());
+
+		for (Hierarchy hierarchy : coreHierarchies) {
+
+			renderConceptsFrom(hierarchy.getRootConcept());
+		}
+
+		for (Hierarchy hierarchy : coreHierarchies) {
+
+			renderDynamicAttributes(hierarchy);
+		}
+
+		for (Hierarchy hierarchy : coreHierarchies) {
+
+			if (hierarchy.potentiallyHasAttributes()) {
+
+				renderConstraintsFrom(hierarchy.getRootConcept());
+			}
+		}
+	}
+
+	private void renderConceptsFrom(Concept concept) {
+
+		List<Concept> children = concept.getChildren();
+
+		output.writeInt(children.size());
+
+		for (Concept child : children) {
+
+			output.writeEntityId(child.getConceptId());
+
+			renderConceptsFrom(child);
+		}
+	}
+
+	private void renderDynamicAttributes(Hierarchy hierarchy) {
+
+		List<DynamicAttribute> attributes = hierarchy.getDynamicAttributes();
+
+		output.writeInt(attributes.size());
+
+		for (DynamicAttribute attribute : attributes) {
+
+			output.writeEntityId(attribute.getRootSourceConcept().getConceptId());
+			output.writeEntityId(attribute.getAttributeId());
+
+			renderDynamicAttributeTarget(attribute.getRootTargetConcept());
+
+			dynamicAttributeIndexes.put(attribute, dynamicAttributeIndexes.size());
+		}
+	}
+
+	private void renderDynamicAttributeTarget(Concept target) {
+
+		Hierarchy hierarchy = target.getHierarchy();
+
+		if (coreHierarchies.contains(hierarchy)) {
+
+			output.writeInt(CORE_TARGET);
+			output.writeEntityId(target.getConceptId());
+
+			return;
+		}
+
+		Integer index = valueHierarchyIndexes.get(hierarchy);
+
+		if (index != null) {
+
+			output.writeInt(SHARED_VALUE_HIERARCHY_TARGET);
+			output.writeInt(index);
+
+			return;
+		}
+
+		valueHierarchyIndexes.put(hierarchy, valueHierarchyIndexes.size());
+
+		output.writeInt(NEW_VALUE_HIERARCHY_TARGET);
+		output.writeEntityId(target.getConceptId());
+
+		renderConceptsFrom(target);
+	}
+
+	private void renderConstraintsFrom(Concept concept) {
+
+		for (Concept sub : concept.getChildren()) {
+
+			renderConstraintsFor(sub);
+			renderConstraintsFrom(sub);
+		}
+	}
+
+	private void renderConstraintsFor(Concept concept) {
+
+		List<Constraint> constraints = concept.getConstraints();
+
+		output.writeInt(constraints.size());
+
+		for (Constraint constraint : constraints) {
+
+			renderAttribute(concept, constraint.getAttribute());
+
+			output.writeInt(constraint.getSemantics().ordinal());
+
+			renderTargets(constraint.getTargetValues());
+		}
+	}
+
+	private void renderAttribute(Concept source, Attribute attribute) {
+
+		if (attribute.dynamicAttribute()) {
+
+			output.writeBoolean(true);
+			output.writeInt(dynamicAttributeIndexes.get((DynamicAttribute)attribute));
+		}
+		else {
+
+			output.writeBoolean(false);
+			output.writeInt(source.getHierarchy().getCoreAttributes().indexOf(attribute));
+		}
+	}
+
+	private void renderTargets(List<Concept> targets) {
+
+		output.writeInt(targets.size());
+
+		for (Concept target : targets) {
+
+			output.writeEntityId(target.getConceptId());
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+/**
+ * @author Colin Puleston
+ */
+class ModelSnapshotVocab {
+
+	static final String SNAPSHOT_FILENAME = "goblin.snapshot";
+
+	static final int SNAPSHOT_MAGIC = 0x474f424c;
+	static final int SNAPSHOT_VERSION = 1;
+
+	static final int CORE_TARGET = 0;
+	static final int NEW_VALUE_HIERARCHY_TARGET = 1;
+	static final int SHARED_VALUE_HIERARCHY_TARGET = 2;
+}
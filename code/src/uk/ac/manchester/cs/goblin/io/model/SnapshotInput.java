@@ -0,0 +1,78 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.nio.*;
+import java.nio.charset.*;
+
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+import uk.ac.manchester.cs.goblin.io.ontology.*;
+
+/**
+ * @author Colin Puleston
+ */
+class SnapshotInput {
+
+	static private final Charset CHARSET = StandardCharsets.UTF_8;
+
+	private ByteBuffer buffer;
+
+	SnapshotInput(ByteBuffer buffer) {
+
+		this.buffer = buffer;
+	}
+
+	boolean atEnd() {
+
+		return !buffer.hasRemaining();
+	}
+
+	int getPosition() {
+
+		return buffer.position();
+	}
+
+	int readInt() {
+
+		return buffer.getInt();
+	}
+
+	boolean readBoolean() {
+
+		return buffer.get() != 0;
+	}
+
+	byte[] readBytes() {
+
+		byte[] value = new byte[buffer.getInt()];
+
+		buffer.get(value);
+
+		return value;
+	}
+
+	String readString() {
+
+		int length = buffer.getInt();
+
+		if (length == -1) {
+
+			return null;
+		}
+
+		byte[] value = new byte[length];
+
+		buffer.get(value);
+
+		return new String(value, CHARSET);
+	}
+
+	EntityId readEntityId() {
+
+		boolean dynamic = readBoolean();
+		String nameOrIRI = readString();
+		String label = readString();
+
+		return dynamic ? new DynamicId(nameOrIRI, label) : new CoreId(IRI.create(nameOrIRI), label);
+	}
+}
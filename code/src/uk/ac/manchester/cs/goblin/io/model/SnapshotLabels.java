@@ -0,0 +1,59 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.goblin.io.ontology.*;
+
+/**
+ * @author Colin Puleston
+ */
+class SnapshotLabels implements EntityLabels {
+
+	private EntityLabels source;
+	private Map<IRI, String> labels = new LinkedHashMap<IRI, String>();
+
+	public String lookForLabel(IRI iri) {
+
+		if (source == null) {
+
+			return labels.get(iri);
+		}
+
+		String label = source.lookForLabel(iri);
+
+		labels.put(iri, label);
+
+		return label;
+	}
+
+	SnapshotLabels() {
+
+		source = null;
+	}
+
+	SnapshotLabels(EntityLabels source) {
+
+		this.source = source;
+	}
+
+	void render(SnapshotOutput output) {
+
+		output.writeInt(labels.size());
+
+		for (Map.Entry<IRI, String> entry : labels.entrySet()) {
+
+			output.writeString(entry.getKey().toString());
+			output.writeString(entry.getValue());
+		}
+	}
+
+	void load(SnapshotInput input) {
+
+		for (int i = input.readInt(); i > 0; i--) {
+
+			labels.put(IRI.create(input.readString()), input.readString());
+		}
+	}
+}
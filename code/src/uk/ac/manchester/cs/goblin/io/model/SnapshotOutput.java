@@ -0,0 +1,67 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.io.*;
+import java.nio.charset.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+import uk.ac.manchester.cs.goblin.io.ontology.*;
+
+/**
+ * @author Colin Puleston
+ */
+class SnapshotOutput {
+
+	static private final Charset CHARSET = StandardCharsets.UTF_8;
+
+	private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+	void writeInt(int value) {
+
+		bytes.write(value >>> 24);
+		bytes.write(value >>> 16);
+		bytes.write(value >>> 8);
+		bytes.write(value);
+	}
+
+	void writeBoolean(boolean value) {
+
+		bytes.write(value ? 1 : 0);
+	}
+
+	void writeBytes(byte[] value) {
+
+		writeInt(value.length);
+		writeContent(value);
+	}
+
+	void writeContent(byte[] content) {
+
+		bytes.write(content, 0, content.length);
+	}
+
+	void writeString(String value) {
+
+		if (value == null) {
+
+			writeInt(-1);
+		}
+		else {
+
+			writeBytes(value.getBytes(CHARSET));
+		}
+	}
+
+	void writeEntityId(EntityId id) {
+
+		boolean dynamic = id.dynamicId();
+
+		writeBoolean(dynamic);
+		writeString(dynamic ? id.getName() : ((CoreId)id).getIRI().toString());
+		writeString(id.getLabel());
+	}
+
+	byte[] toByteArray() {
+
+		return bytes.toByteArray();
+	}
+}
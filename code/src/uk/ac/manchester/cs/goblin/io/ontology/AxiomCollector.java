@@ -0,0 +1,161 @@
+package uk.ac.manchester.cs.goblin.io.ontology;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.*;
+
+import uk.ac.manchester.cs.owl.owlapi.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class AxiomCollector {
+
+	static private final IRI LABEL_ANNOTATION_IRI = OWLRDFVocabulary.RDFS_LABEL.getIRI();
+
+	private OWLDataFactory factory = new OWLDataFactoryImpl();
+	private OWLAnnotationProperty labelAnnotationProperty;
+
+	private Set<OWLAxiom> axioms = new HashSet<OWLAxiom>();
+
+	public AxiomCollector() {
+
+		labelAnnotationProperty = factory.getOWLAnnotationProperty(LABEL_ANNOTATION_IRI);
+	}
+
+	public OWLClass addClass(OWLClass sup, IRI iri) {
+
+		OWLClass cls = getClass(iri);
+
+		axioms.add(factory.getOWLDeclarationAxiom(cls));
+		addSuperClass(cls, sup);
+
+		return cls;
+	}
+
+	public void addSuperClass(OWLClass cls, OWLClass sup) {
+
+		axioms.add(getSubClassAxiom(cls, sup));
+	}
+
+	public void addLabel(OWLClass cls, String label) {
+
+		axioms.add(createLabelAxiom(cls, label));
+	}
+
+	public void addPremiseAxiom(
+					OWLClass rootSubject,
+					OWLClass subject,
+					OWLObjectProperty property,
+					OWLClass value) {
+
+		axioms.add(getEquivalenceAxiom(subject, getPremiseDefnExpr(rootSubject, property, value)));
+	}
+
+	public void addAllConsequenceAxiom(
+					OWLClass subject,
+					OWLObjectProperty property,
+					Set<OWLClass> values) {
+
+		OWLClassExpression valuesExpr = getAllConsequenceValuesExpr(values);
+
+		axioms.add(getSubClassAxiom(subject, getAllValuesFrom(property, valuesExpr)));
+	}
+
+	public void addSomeConsequenceAxioms(
+					OWLClass subject,
+					OWLObjectProperty property,
+					Set<OWLClass> values) {
+
+		for (OWLClass value : values) {
+
+			axioms.add(getSubClassAxiom(subject, getSomeValuesFrom(property, value)));
+		}
+	}
+
+	public OWLClass getClass(IRI iri) {
+
+		return factory.getOWLClass(iri);
+	}
+
+	public OWLObjectProperty getObjectProperty(IRI iri) {
+
+		return factory.getOWLObjectProperty(iri);
+	}
+
+	public Set<OWLAxiom> getAxioms() {
+
+		return axioms;
+	}
+
+	public Set<OWLAxiom> takeAxioms() {
+
+		if (axioms.isEmpty()) {
+
+			return Collections.emptySet();
+		}
+
+		Set<OWLAxiom> taken = axioms;
+
+		axioms = new HashSet<OWLAxiom>();
+
+		return taken;
+	}
+
+	private OWLObjectIntersectionOf getPremiseDefnExpr(
+										OWLClass rootSubject,
+										OWLObjectProperty property,
+										OWLClass value) {
+
+		OWLObjectSomeValuesFrom valueRes = getSomeValuesFrom(property, value);
+
+		return factory.getOWLObjectIntersectionOf(rootSubject, valueRes);
+	}
+
+	private OWLClassExpression getAllConsequenceValuesExpr(Set<OWLClass> values) {
+
+		if (values.size() == 1) {
+
+			return values.iterator().next();
+		}
+
+		return factory.getOWLObjectUnionOf(values);
+	}
+
+	private OWLObjectAllValuesFrom getAllValuesFrom(
+										OWLObjectProperty property,
+										OWLClassExpression filler) {
+
+		return factory.getOWLObjectAllValuesFrom(property, filler);
+	}
+
+	private OWLObjectSomeValuesFrom getSomeValuesFrom(
+										OWLObjectProperty property,
+										OWLClassExpression filler) {
+
+		return factory.getOWLObjectSomeValuesFrom(property, filler);
+	}
+
+	private OWLSubClassOfAxiom getSubClassAxiom(
+									OWLClassExpression sub,
+									OWLClassExpression sup) {
+
+		return factory.getOWLSubClassOfAxiom(sub, sup);
+	}
+
+	private OWLEquivalentClassesAxiom getEquivalenceAxiom(
+											OWLClassExpression expr1,
+											OWLClassExpression expr2) {
+
+		return factory.getOWLEquivalentClassesAxiom(expr1, expr2);
+	}
+
+	private OWLAxiom createLabelAxiom(OWLEntity entity, String label) {
+
+		return factory.getOWLAnnotationAssertionAxiom(
+					labelAnnotationProperty,
+					entity.getIRI(),
+					factory.getOWLLiteral(label));
+	}
+}
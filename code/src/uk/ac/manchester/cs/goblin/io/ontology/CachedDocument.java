@@ -0,0 +1,64 @@
+package uk.ac.manchester.cs.goblin.io.ontology;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class CachedDocument {
+
+	private IRI documentIRI;
+	private byte[] contentHash;
+
+	private OWLOntologyID ontologyId;
+	private OWLDocumentFormat format;
+
+	private Set<OWLImportsDeclaration> imports;
+	private Set<OWLAnnotation> annotations;
+	private Set<OWLAxiom> axioms;
+
+	CachedDocument(IRI documentIRI, byte[] contentHash, OWLOntology ontology) {
+
+		this.documentIRI = documentIRI;
+		this.contentHash = contentHash;
+
+		ontologyId = ontology.getOntologyID();
+		format = ontology.getOWLOntologyManager().getOntologyFormat(ontology);
+
+		imports = Collections.unmodifiableSet(ontology.getImportsDeclarations());
+		annotations = Collections.unmodifiableSet(ontology.getAnnotations());
+		axioms = Collections.unmodifiableSet(ontology.getAxioms());
+	}
+
+	boolean matches(IRI documentIRI, byte[] contentHash) {
+
+		return this.documentIRI.equals(documentIRI) && Arrays.equals(this.contentHash, contentHash);
+	}
+
+	OWLOntologyID getOntologyId() {
+
+		return ontologyId;
+	}
+
+	OWLDocumentFormat getFormat() {
+
+		return format;
+	}
+
+	Set<OWLImportsDeclaration> getImports() {
+
+		return imports;
+	}
+
+	Set<OWLAnnotation> getAnnotations() {
+
+		return annotations;
+	}
+
+	Set<OWLAxiom> getAxioms() {
+
+		return axioms;
+	}
+}
@@ -0,0 +1,189 @@
+package uk.ac.manchester.cs.goblin.io.ontology;
+
+import java.io.*;
+
+import org.semanticweb.owlapi.functional.parser.*;
+import org.semanticweb.owlapi.io.*;
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.goblin.io.*;
+
+/**
+ * @author Colin Puleston
+ */
+class CachingOntologyFactory implements OWLOntologyFactory {
+
+	static private final long serialVersionUID = -1;
+
+	static private final String FILE_SCHEME = "file";
+
+	private OWLOntologyFactory parsingFactory;
+	private OntologyCache cache;
+
+	private IRI mainDocumentIRI;
+
+	public OWLOntology createOWLOntology(
+							OWLOntologyManager manager,
+							OWLOntologyID ontologyId,
+							IRI documentIRI,
+							OWLOntologyCreationHandler handler)
+							throws OWLOntologyCreationException {
+
+		return parsingFactory.createOWLOntology(manager, ontologyId, documentIRI, handler);
+	}
+
+	public OWLOntology loadOWLOntology(
+							OWLOntologyManager manager,
+							OWLOntologyDocumentSource source,
+							OWLOntologyCreationHandler handler,
+							OWLOntologyLoaderConfiguration config)
+							throws OWLOntologyCreationException {
+
+		IRI documentIRI = source.getDocumentIRI();
+
+		if (!cacheable(documentIRI)) {
+
+			return parsingFactory.loadOWLOntology(manager, source, handler, config);
+		}
+
+		byte[] contentHash = lookForContentHash(documentIRI);
+
+		if (contentHash == null) {
+
+			return parsingFactory.loadOWLOntology(manager, source, handler, config);
+		}
+
+		CachedDocument document = cache.lookFor(documentIRI, contentHash);
+
+		if (document != null) {
+
+			return loadFromCache(manager, document, documentIRI, handler, config);
+		}
+
+		OWLOntology ontology = lookForStoredOntology(manager, documentIRI, contentHash, handler, config);
+
+		if (ontology == null) {
+
+			ontology = parsingFactory.loadOWLOntology(manager, source, handler, config);
+
+			cache.store(documentIRI, contentHash, ontology);
+		}
+
+		cache.add(documentIRI, new CachedDocument(documentIRI, contentHash, ontology));
+
+		return ontology;
+	}
+
+	public boolean canCreateFromDocumentIRI(IRI documentIRI) {
+
+		return parsingFactory.canCreateFromDocumentIRI(documentIRI);
+	}
+
+	public boolean canLoad(OWLOntologyDocumentSource source) {
+
+		return parsingFactory.canLoad(source);
+	}
+
+	CachingOntologyFactory(OWLOntologyFactory parsingFactory, OntologyCache cache, File mainFile) {
+
+		this.parsingFactory = parsingFactory;
+		this.cache = cache;
+
+		mainDocumentIRI = IRI.create(mainFile);
+	}
+
+	private boolean cacheable(IRI documentIRI) {
+
+		return FILE_SCHEME.equals(documentIRI.getScheme()) && !documentIRI.equals(mainDocumentIRI);
+	}
+
+	private byte[] lookForContentHash(IRI documentIRI) {
+
+		try {
+
+			return FileUtils.hash(new File(documentIRI.toURI()));
+		}
+		catch (IOException e) {
+
+			return null;
+		}
+	}
+
+	private OWLOntology lookForStoredOntology(
+							OWLOntologyManager manager,
+							IRI documentIRI,
+							byte[] contentHash,
+							OWLOntologyCreationHandler handler,
+							OWLOntologyLoaderConfiguration config)
+							throws OWLOntologyCreationException {
+
+		OntologyCache.StoredDocument stored = cache.lookForStored(documentIRI, contentHash);
+
+		if (stored == null) {
+
+			return null;
+		}
+
+		OWLOntology ontology = createOWLOntology(manager, new OWLOntologyID(), documentIRI, handler);
+
+		try {
+
+			new OWLFunctionalSyntaxOWLParser().parse(stored.createSource(), ontology, config);
+		}
+		catch (IOException e) {
+
+			return discardStoredOntology(manager, ontology, documentIRI);
+		}
+		catch (OWLParserException e) {
+
+			return discardStoredOntology(manager, ontology, documentIRI);
+		}
+
+		handler.setOntologyFormat(ontology, stored.getFormat());
+
+		return ontology;
+	}
+
+	private OWLOntology discardStoredOntology(
+							OWLOntologyManager manager,
+							OWLOntology ontology,
+							IRI documentIRI) {
+
+		manager.removeOntology(ontology);
+		cache.discardStored(documentIRI);
+
+		return null;
+	}
+
+	private OWLOntology loadFromCache(
+							OWLOntologyManager manager,
+							CachedDocument document,
+							IRI documentIRI,
+							OWLOntologyCreationHandler handler,
+							OWLOntologyLoaderConfiguration config)
+							throws OWLOntologyCreationException {
+
+		OWLOntology ontology = createOWLOntology(manager, document.getOntologyId(), documentIRI, handler);
+
+		handler.setOntologyFormat(ontology, document.getFormat());
+
+		for (OWLImportsDeclaration declaration : document.getImports()) {
+
+			manager.applyChange(new AddImport(ontology, declaration));
+		}
+
+		for (OWLAnnotation annotation : document.getAnnotations()) {
+
+			manager.applyChange(new AddOntologyAnnotation(ontology, annotation));
+		}
+
+		manager.addAxioms(ontology, document.getAxioms());
+
+		for (OWLImportsDeclaration declaration : document.getImports()) {
+
+			manager.makeLoadImportRequest(declaration, config);
+		}
+
+		return ontology;
+	}
+}
@@ -0,0 +1,174 @@
+package uk.ac.manchester.cs.goblin.io.ontology;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.semanticweb.owlapi.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class EntityIndex {
+
+	static private Set<IRI> createIRISet() {
+
+		return Collections.newSetFromMap(new ConcurrentHashMap<IRI, Boolean>());
+	}
+
+	private Set<OWLOntology> ontologies;
+	private OWLAnnotationProperty labelProperty;
+
+	private Set<IRI> classIRIs = createIRISet();
+	private Set<IRI> objectPropertyIRIs = createIRISet();
+	private ConcurrentMap<IRI, String> labelsByIRI = new ConcurrentHashMap<IRI, String>();
+
+	EntityIndex(Set<OWLOntology> ontologies, OWLAnnotationProperty labelProperty) {
+
+		this.ontologies = ontologies;
+		this.labelProperty = labelProperty;
+
+		for (OWLOntology ont : ontologies) {
+
+			indexEntities(ont.getSignature());
+
+			for (OWLAnnotationAssertionAxiom axiom : ont.getAxioms(AxiomType.ANNOTATION_ASSERTION)) {
+
+				checkIndexLabel(axiom);
+			}
+		}
+	}
+
+	synchronized void update(Collection<OWLOntologyChange> changes) {
+
+		Set<IRI> iris = new HashSet<IRI>();
+
+		for (OWLOntologyChange change : changes) {
+
+			collectIRIs(change.getAxiom(), iris);
+		}
+
+		for (IRI iri : iris) {
+
+			reindex(iri);
+		}
+	}
+
+	boolean classExists(IRI iri) {
+
+		return classIRIs.contains(iri);
+	}
+
+	boolean objectPropertyExists(IRI iri) {
+
+		return objectPropertyIRIs.contains(iri);
+	}
+
+	String lookForLabel(IRI iri) {
+
+		return labelsByIRI.get(iri);
+	}
+
+	private void indexEntities(Set<OWLEntity> entities) {
+
+		for (OWLEntity entity : entities) {
+
+			if (entity.isOWLClass()) {
+
+				classIRIs.add(entity.getIRI());
+			}
+			else if (entity.isOWLObjectProperty()) {
+
+				objectPropertyIRIs.add(entity.getIRI());
+			}
+		}
+	}
+
+	private void checkIndexLabel(OWLAnnotationAssertionAxiom axiom) {
+
+		String label = lookForLabel(axiom);
+
+		if (label != null) {
+
+			labelsByIRI.putIfAbsent((IRI)axiom.getSubject(), label);
+		}
+	}
+
+	private String lookForLabel(OWLAnnotationAssertionAxiom axiom) {
+
+		if (axiom.getProperty().equals(labelProperty)) {
+
+			OWLAnnotationSubject subject = axiom.getSubject();
+			OWLAnnotationValue value = axiom.getValue();
+
+			if (subject instanceof IRI && value instanceof OWLLiteral) {
+
+				return ((OWLLiteral)value).getLiteral();
+			}
+		}
+
+		return null;
+	}
+
+	private void collectIRIs(OWLAxiom axiom, Set<IRI> iris) {
+
+		for (OWLEntity entity : axiom.getSignature()) {
+
+			iris.add(entity.getIRI());
+		}
+
+		if (axiom instanceof OWLAnnotationAssertionAxiom) {
+
+			OWLAnnotationSubject subject = ((OWLAnnotationAssertionAxiom)axiom).getSubject();
+
+			if (subject instanceof IRI) {
+
+				iris.add((IRI)subject);
+			}
+		}
+	}
+
+	private void reindex(IRI iri) {
+
+		boolean cls = false;
+		boolean objectProperty = false;
+		String label = null;
+
+		for (OWLOntology ont : ontologies) {
+
+			cls |= ont.containsClassInSignature(iri);
+			objectProperty |= ont.containsObjectPropertyInSignature(iri);
+
+			for (OWLAnnotationAssertionAxiom axiom : ont.getAnnotationAssertionAxioms(iri)) {
+
+				if (label == null) {
+
+					label = lookForLabel(axiom);
+				}
+			}
+		}
+
+		updateMembership(classIRIs, iri, cls);
+		updateMembership(objectPropertyIRIs, iri, objectProperty);
+
+		if (label != null) {
+
+			labelsByIRI.put(iri, label);
+		}
+		else {
+
+			labelsByIRI.remove(iri);
+		}
+	}
+
+	private void updateMembership(Set<IRI> iris, IRI iri, boolean member) {
+
+		if (member) {
+
+			iris.add(iri);
+		}
+		else {
+
+			iris.remove(iri);
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package uk.ac.manchester.cs.goblin.io.ontology;
+
+import org.semanticweb.owlapi.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+public interface EntityLabels {
+
+	public String lookForLabel(IRI iri);
+}
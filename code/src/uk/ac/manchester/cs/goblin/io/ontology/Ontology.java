@@ -1,26 +1,35 @@
 package uk.ac.manchester.cs.goblin.io.ontology;
 
 import java.io.*;
+import java.nio.charset.*;
 import java.util.*;
 
 import com.google.common.base.Optional;
 
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.formats.*;
 import org.semanticweb.owlapi.model.parameters.*;
 import org.semanticweb.owlapi.reasoner.*;
 import org.semanticweb.owlapi.reasoner.structural.*;
 import org.semanticweb.owlapi.apibinding.*;
-import org.semanticweb.owlapi.search.*;
 import org.semanticweb.owlapi.vocab.*;
 import org.semanticweb.owlapi.rdf.rdfxml.renderer.*;
+import org.semanticweb.owlapi.rio.*;
+import org.openrdf.rio.binary.*;
+
+import uk.ac.manchester.cs.goblin.io.*;
 
 /**
  * @author Colin Puleston
  */
-public class Ontology {
+public class Ontology implements EntityLabels {
 
 	static private final IRI LABEL_ANNOTATION_IRI = OWLRDFVocabulary.RDFS_LABEL.getIRI();
 
+	static private final String TEMP_FILE_SUFFIX = ".tmp";
+
+	static private final int WRITE_BUFFER_SIZE = 1 << 16;
+
 	private File file;
 
 	private OWLOntologyManager manager;
@@ -30,94 +39,110 @@ public class Ontology {
 	private OWLReasoner reasoner;
 	private IRI ontologyIRI;
 
+	private volatile Taxonomy<OWLClass> classTaxonomy;
+	private volatile Taxonomy<OWLObjectPropertyExpression> objectPropertyTaxonomy;
+
 	private OWLAnnotationProperty labelAnnotationProperty;
+	private EntityIndex entityIndex;
 
-	public Ontology(File file) throws BadOwlOntologyException {
+	private class ClassTaxonomy extends Taxonomy<OWLClass> {
 
-		this.file = file;
+		ClassTaxonomy() {
 
-		manager = createManager();
-		mainOntology = loadOntology();
-		allOntologies = manager.getOntologies();
-		factory = manager.getOWLDataFactory();
-		reasoner = createReasoner();
-		ontologyIRI = findOntologyIRI();
+			build(reasoner.getTopClassNode());
+		}
 
-		labelAnnotationProperty = getLabelAnnotationProperty();
+		NodeSet<OWLClass> getDirectSubNodes(OWLClass entity) {
+
+			return reasoner.getSubClasses(entity, true);
+		}
 	}
 
-	public OWLClass addClass(OWLClass sup, IRI iri) {
+	private class ObjectPropertyTaxonomy extends Taxonomy<OWLObjectPropertyExpression> {
+
+		ObjectPropertyTaxonomy() {
 
-		OWLClass cls = getClass(iri);
+			build(reasoner.getTopObjectPropertyNode());
+		}
 
-		addAxiom(factory.getOWLDeclarationAxiom(cls));
-		addSuperClass(cls, sup);
+		NodeSet<OWLObjectPropertyExpression> getDirectSubNodes(OWLObjectPropertyExpression entity) {
 
-		return cls;
+			return reasoner.getSubObjectProperties(entity, true);
+		}
 	}
 
-	public void addSuperClass(OWLClass cls, OWLClass sup) {
+	public Ontology(File file) throws BadOwlOntologyException {
+
+		this.file = file;
 
-		addAxiom(getSubClassAxiom(cls, sup));
+		loadOntologies();
+		buildTaxonomies();
 	}
 
-	public void addLabel(OWLClass cls, String label) {
+	public Ontology(File file, LoadProgress progress) throws BadStartupException {
 
-		addAxiom(createLabelAxiom(cls, label));
-	}
+		this.file = file;
 
-	public void addPremiseAxiom(
-					OWLClass rootSubject,
-					OWLClass subject,
-					OWLObjectProperty property,
-					OWLClass value) {
+		progress.startStage(LoadStage.LOAD_ONTOLOGY);
+		loadOntologies();
 
-		addAxiom(getEquivalenceAxiom(subject, getPremiseDefnExpr(rootSubject, property, value)));
+		progress.startStage(LoadStage.BUILD_TAXONOMY);
+		buildTaxonomies();
 	}
 
-	public void addAllConsequenceAxiom(
-					OWLClass subject,
-					OWLObjectProperty property,
-					Set<OWLClass> values) {
+	public synchronized void updateAxioms(Set<OWLAxiom> axioms) {
 
-		OWLClassExpression valuesExpr = getAllConsequenceValuesExpr(values);
+		List<OWLOntologyChange> changes = new ArrayList<OWLOntologyChange>();
 
-		addAxiom(getSubClassAxiom(subject, getAllValuesFrom(property, valuesExpr)));
-	}
+		for (OWLAxiom axiom : mainOntology.getAxioms(Imports.EXCLUDED)) {
+
+			if (!axioms.contains(axiom)) {
+
+				changes.add(new RemoveAxiom(mainOntology, axiom));
+			}
+		}
 
-	public void addSomeConsequenceAxioms(
-					OWLClass subject,
-					OWLObjectProperty property,
-					Set<OWLClass> values) {
+		for (OWLAxiom axiom : axioms) {
 
-		for (OWLClass value : values) {
+			if (!mainOntology.containsAxiom(axiom)) {
 
-			addAxiom(getSubClassAxiom(subject, getSomeValuesFrom(property, value)));
+				changes.add(new AddAxiom(mainOntology, axiom));
+			}
 		}
+
+		applyChanges(changes);
 	}
 
-	public void removeAllAxioms() {
+	public synchronized void updateAxioms(Set<OWLAxiom> additions, Set<OWLAxiom> removals) {
 
-		removeAxioms(mainOntology.getAxioms(Imports.EXCLUDED));
-	}
+		List<OWLOntologyChange> changes = new ArrayList<OWLOntologyChange>();
 
-	public void write(File file) {
+		for (OWLAxiom axiom : removals) {
 
-		try {
+			changes.add(new RemoveAxiom(mainOntology, axiom));
+		}
 
-			PrintWriter writer = new PrintWriter(new FileWriter(file));
+		for (OWLAxiom axiom : additions) {
 
-			try {
+			changes.add(new AddAxiom(mainOntology, axiom));
+		}
 
-				new RDFXMLRenderer(mainOntology, writer).render();
-			}
-			finally {
+		applyChanges(changes);
+	}
 
-				writer.close();
-			}
+	public synchronized void write(File file, OntologyFormat format) {
+
+		File tempFile = createTempFile(file);
+
+		try {
+
+			writeToFile(tempFile, format);
+			FileUtils.replaceFile(tempFile, file);
 		}
 		catch (IOException e) {
 
+			tempFile.delete();
+
 			throw new RuntimeException(e);
 		}
 	}
@@ -127,9 +152,33 @@ public class Ontology {
 		return ontologyIRI;
 	}
 
-	public Set<OWLClassAxiom> getClassAxioms(OWLClass cls) {
+	public List<File> getDocumentFiles() {
+
+		List<File> files = new ArrayList<File>();
+
+		for (OWLOntology ont : allOntologies) {
+
+			IRI docIRI = manager.getOntologyDocumentIRI(ont);
 
-		return mainOntology.getAxioms(cls, Imports.INCLUDED);
+			if (!"file".equals(docIRI.getScheme())) {
+
+				return null;
+			}
+
+			files.add(new File(docIRI.toURI()));
+		}
+
+		return files;
+	}
+
+	public Set<OWLSubClassOfAxiom> getAllSubClassAxioms() {
+
+		return mainOntology.getAxioms(AxiomType.SUBCLASS_OF, Imports.INCLUDED);
+	}
+
+	public Set<OWLEquivalentClassesAxiom> getAllEquivalentClassesAxioms() {
+
+		return mainOntology.getAxioms(AxiomType.EQUIVALENT_CLASSES, Imports.INCLUDED);
 	}
 
 	public OWLClass getRootClass() {
@@ -144,7 +193,7 @@ public class Ontology {
 
 	public Set<OWLClass> getSubClasses(OWLClass cls, boolean direct) {
 
-		Set<OWLClass> subs = reasoner.getSubClasses(cls, direct).getFlattened();
+		Set<OWLClass> subs = lookForSubClasses(cls, direct);
 
 		subs.remove(factory.getOWLNothing());
 
@@ -153,20 +202,22 @@ public class Ontology {
 
 	public Set<OWLClass> getSuperClasses(OWLClass cls, boolean direct) {
 
-		return reasoner.getSuperClasses(cls, direct).getFlattened();
-	}
+		Taxonomy<OWLClass> taxonomy = classTaxonomy;
 
-	public boolean classExists(IRI iri) {
+		if (taxonomy.contains(cls)) {
 
-		for (OWLOntology ont : allOntologies) {
+			return taxonomy.getSupers(cls, direct);
+		}
 
-			if (ont.containsClassInSignature(iri)) {
+		synchronized (reasoner) {
 
-				return true;
-			}
+			return reasoner.getSuperClasses(cls, direct).getFlattened();
 		}
+	}
+
+	public boolean classExists(IRI iri) {
 
-		return false;
+		return entityIndex.classExists(iri);
 	}
 
 	public OWLObjectProperty getRootObjectProperty() {
@@ -179,6 +230,11 @@ public class Ontology {
 		return factory.getOWLObjectProperty(iri);
 	}
 
+	public boolean objectPropertyExists(IRI iri) {
+
+		return entityIndex.objectPropertyExists(iri);
+	}
+
 	public Set<OWLObjectProperty> getSubProperties(OWLObjectProperty prop, boolean direct) {
 
 		Set<OWLObjectProperty> subs = extractProperties(getSubPropertyExprs(prop, direct));
@@ -188,19 +244,14 @@ public class Ontology {
 		return subs;
 	}
 
-	public String lookForLabel(OWLEntity entity) {
+	public String lookForLabel(IRI iri) {
 
-		for (OWLAnnotation anno : getLabelAnnotations(entity)) {
-
-			OWLAnnotationValue value = anno.getValue();
-
-			if (value instanceof OWLLiteral) {
+		return entityIndex.lookForLabel(iri);
+	}
 
-				return ((OWLLiteral)value).getLiteral();
-			}
-		}
+	public String lookForLabel(OWLEntity entity) {
 
-		return null;
+		return lookForLabel(entity.getIRI());
 	}
 
 	private OWLOntologyManager createManager() {
@@ -208,6 +259,7 @@ public class Ontology {
 		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
 
 		manager.getIRIMappers().add(createIRIMapper());
+		manager.getOntologyFactories().set(createCachingFactory(manager));
 
 		return manager;
 	}
@@ -217,6 +269,13 @@ public class Ontology {
 		return new PathSearchIRIMapper(file.getParentFile());
 	}
 
+	private OWLOntologyFactory createCachingFactory(OWLOntologyManager manager) {
+
+		OWLOntologyFactory parsingFactory = manager.getOntologyFactories().iterator().next();
+
+		return new CachingOntologyFactory(parsingFactory, OntologyCache.SHARED, file);
+	}
+
 	private OWLOntology loadOntology() throws BadOwlOntologyException {
 
 		try {
@@ -229,6 +288,48 @@ public class Ontology {
 		}
 	}
 
+	private void loadOntologies() throws BadOwlOntologyException {
+
+		manager = createManager();
+		mainOntology = loadOntology();
+		allOntologies = manager.getOntologies();
+		factory = manager.getOWLDataFactory();
+		ontologyIRI = findOntologyIRI();
+
+		labelAnnotationProperty = getLabelAnnotationProperty();
+		entityIndex = new EntityIndex(allOntologies, labelAnnotationProperty);
+	}
+
+	private void applyChanges(List<OWLOntologyChange> changes) {
+
+		if (!changes.isEmpty()) {
+
+			manager.applyChanges(changes);
+			entityIndex.update(changes);
+
+			rebuildTaxonomies();
+		}
+	}
+
+	private void buildTaxonomies() {
+
+		reasoner = createReasoner();
+
+		classTaxonomy = new ClassTaxonomy();
+		objectPropertyTaxonomy = new ObjectPropertyTaxonomy();
+	}
+
+	private void rebuildTaxonomies() {
+
+		synchronized (reasoner) {
+
+			reasoner.flush();
+
+			classTaxonomy = new ClassTaxonomy();
+			objectPropertyTaxonomy = new ObjectPropertyTaxonomy();
+		}
+	}
+
 	private OWLReasoner createReasoner() {
 
 		return new StructuralReasonerFactory().createReasoner(mainOntology);
@@ -246,11 +347,36 @@ public class Ontology {
 		throw new BadOwlOntologyException("Ontology IRI is not defined in file: " + file);
 	}
 
+	private Set<OWLClass> lookForSubClasses(OWLClass cls, boolean direct) {
+
+		Taxonomy<OWLClass> taxonomy = classTaxonomy;
+
+		if (taxonomy.contains(cls)) {
+
+			return taxonomy.getSubs(cls, direct);
+		}
+
+		synchronized (reasoner) {
+
+			return reasoner.getSubClasses(cls, direct).getFlattened();
+		}
+	}
+
 	private Set<OWLObjectPropertyExpression> getSubPropertyExprs(
 												OWLObjectProperty prop,
 												boolean direct) {
 
-		return reasoner.getSubObjectProperties(prop, direct).getFlattened();
+		Taxonomy<OWLObjectPropertyExpression> taxonomy = objectPropertyTaxonomy;
+
+		if (taxonomy.contains(prop)) {
+
+			return taxonomy.getSubs(prop, direct);
+		}
+
+		synchronized (reasoner) {
+
+			return reasoner.getSubObjectProperties(prop, direct).getFlattened();
+		}
 	}
 
 	private Set<OWLObjectProperty> extractProperties(Set<OWLObjectPropertyExpression> exprs) {
@@ -268,79 +394,89 @@ public class Ontology {
 		return props;
 	}
 
-	private OWLObjectIntersectionOf getPremiseDefnExpr(
-										OWLClass rootSubject,
-										OWLObjectProperty property,
-										OWLClass value) {
-
-		OWLObjectSomeValuesFrom valueRes = getSomeValuesFrom(property, value);
+	private File createTempFile(File file) {
 
-		return factory.getOWLObjectIntersectionOf(rootSubject, valueRes);
+		return new File(file.getAbsoluteFile().getParentFile(), file.getName() + TEMP_FILE_SUFFIX);
 	}
 
-	private OWLClassExpression getAllConsequenceValuesExpr(Set<OWLClass> values) {
+	private void writeToFile(File file, OntologyFormat format) throws IOException {
+
+		FileOutputStream output = new FileOutputStream(file);
+
+		try {
 
-		if (values.size() == 1) {
+			OutputStream bufferedOutput = new BufferedOutputStream(output, WRITE_BUFFER_SIZE);
 
-			return values.iterator().next();
+			if (format == OntologyFormat.RDF_XML) {
+
+				writeRDFXML(bufferedOutput);
+			}
+			else if (format == OntologyFormat.BINARY_RDF) {
+
+				writeBinaryRDF(bufferedOutput);
+			}
+			else {
+
+				writeInFormat(bufferedOutput, format);
+			}
+
+			bufferedOutput.flush();
+			output.getChannel().force(true);
 		}
+		finally {
 
-		return factory.getOWLObjectUnionOf(values);
+			output.close();
+		}
 	}
 
-	private OWLObjectAllValuesFrom getAllValuesFrom(
-										OWLObjectProperty property,
-										OWLClassExpression filler) {
+	private void writeRDFXML(OutputStream output) throws IOException {
 
-		return factory.getOWLObjectAllValuesFrom(property, filler);
-	}
+		Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
 
-	private OWLObjectSomeValuesFrom getSomeValuesFrom(
-										OWLObjectProperty property,
-										OWLClassExpression filler) {
+		new RDFXMLRenderer(mainOntology, writer).render();
 
-		return factory.getOWLObjectSomeValuesFrom(property, filler);
+		writer.flush();
 	}
 
-	private OWLSubClassOfAxiom getSubClassAxiom(
-									OWLClassExpression sub,
-									OWLClassExpression sup) {
+	private void writeBinaryRDF(OutputStream output) throws IOException {
 
-		return factory.getOWLSubClassOfAxiom(sub, sup);
+		OWLDocumentFormat docFormat = OntologyFormat.BINARY_RDF.createDocumentFormat();
+
+		new RioRenderer(mainOntology, new BinaryRDFWriter(output), docFormat).render();
 	}
 
-	private OWLEquivalentClassesAxiom getEquivalenceAxiom(
-											OWLClassExpression expr1,
-											OWLClassExpression expr2) {
+	private void writeInFormat(OutputStream output, OntologyFormat format) throws IOException {
 
-		return factory.getOWLEquivalentClassesAxiom(expr1, expr2);
-	}
+		OWLDocumentFormat docFormat = format.createDocumentFormat();
 
-	private OWLAxiom createLabelAxiom(OWLEntity entity, String label) {
+		copyPrefixes(docFormat);
 
-		return factory.getOWLAnnotationAssertionAxiom(
-					labelAnnotationProperty,
-					entity.getIRI(),
-					factory.getOWLLiteral(label));
-	}
+		try {
 
-	private void addAxiom(OWLAxiom axiom) {
+			manager.saveOntology(mainOntology, docFormat, output);
+		}
+		catch (OWLOntologyStorageException e) {
 
-		manager.addAxiom(mainOntology, axiom);
+			throw new IOException(e);
+		}
 	}
 
-	private void removeAxioms(Set<? extends OWLAxiom> axioms) {
+	private void copyPrefixes(OWLDocumentFormat docFormat) {
 
-		manager.removeAxioms(mainOntology, axioms);
-	}
+		OWLDocumentFormat loadedFormat = manager.getOntologyFormat(mainOntology);
 
-	private OWLAnnotationProperty getLabelAnnotationProperty() {
+		if (docFormat.isPrefixOWLOntologyFormat()
+			&& loadedFormat != null
+			&& loadedFormat.isPrefixOWLOntologyFormat()) {
 
-		return factory.getOWLAnnotationProperty(LABEL_ANNOTATION_IRI);
+			PrefixDocumentFormat prefixFormat = docFormat.asPrefixOWLOntologyFormat();
+
+			prefixFormat.copyPrefixesFrom(loadedFormat.asPrefixOWLOntologyFormat());
+		}
 	}
 
-	private Collection<OWLAnnotation> getLabelAnnotations(OWLEntity entity) {
+	private OWLAnnotationProperty getLabelAnnotationProperty() {
 
-		return EntitySearcher.getAnnotations(entity, allOntologies, labelAnnotationProperty);
+		return factory.getOWLAnnotationProperty(LABEL_ANNOTATION_IRI);
 	}
 }
@@ -0,0 +1,232 @@
+package uk.ac.manchester.cs.goblin.io.ontology;
+
+import java.io.*;
+import java.lang.ref.*;
+import java.math.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import org.semanticweb.owlapi.formats.*;
+import org.semanticweb.owlapi.io.*;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.util.*;
+
+import uk.ac.manchester.cs.goblin.io.*;
+
+/**
+ * @author Colin Puleston
+ */
+class OntologyCache {
+
+	static private final String CACHE_DIR_PATH = ".goblin" + File.separator + "ontology-cache";
+	static private final String CACHE_FILE_SUFFIX = ".ofn";
+	static private final String TEMP_FILE_SUFFIX = ".tmp";
+
+	static private final int BUFFER_SIZE = 1 << 16;
+
+	static private final String CACHE_FORMAT_VERSION = "3";
+
+	static private final String CACHE_KEY_PREFIX
+					= CACHE_FORMAT_VERSION + ":"
+					+ VersionInfo.getVersionInfo().getVersion() + ":";
+
+	static final OntologyCache SHARED = new OntologyCache(getDefaultCacheDir());
+
+	static private File getDefaultCacheDir() {
+
+		return new File(System.getProperty("user.home"), CACHE_DIR_PATH);
+	}
+
+	private File cacheDir;
+
+	private Map<IRI, SoftReference<CachedDocument>> documents
+					= new HashMap<IRI, SoftReference<CachedDocument>>();
+
+	class StoredDocument {
+
+		private IRI documentIRI;
+		private OWLDocumentFormat format;
+		private byte[] content;
+
+		StoredDocument(IRI documentIRI, OWLDocumentFormat format, byte[] content) {
+
+			this.documentIRI = documentIRI;
+			this.format = format;
+			this.content = content;
+		}
+
+		OWLDocumentFormat getFormat() {
+
+			return format;
+		}
+
+		OWLOntologyDocumentSource createSource() {
+
+			return new StreamDocumentSource(
+							new ByteArrayInputStream(content),
+							documentIRI,
+							new FunctionalSyntaxDocumentFormat(),
+							null);
+		}
+	}
+
+	OntologyCache(File cacheDir) {
+
+		this.cacheDir = cacheDir;
+	}
+
+	synchronized CachedDocument lookFor(IRI documentIRI, byte[] contentHash) {
+
+		SoftReference<CachedDocument> ref = documents.get(documentIRI);
+		CachedDocument document = ref != null ? ref.get() : null;
+
+		return document != null && document.matches(documentIRI, contentHash) ? document : null;
+	}
+
+	synchronized StoredDocument lookForStored(IRI documentIRI, byte[] contentHash) {
+
+		File file = getCacheFile(documentIRI);
+
+		if (file.exists()) {
+
+			try {
+
+				return read(file, documentIRI, contentHash);
+			}
+			catch (IOException e) {
+
+				file.delete();
+			}
+			catch (RuntimeException e) {
+
+				file.delete();
+			}
+		}
+
+		return null;
+	}
+
+	synchronized void add(IRI documentIRI, CachedDocument document) {
+
+		documents.put(documentIRI, new SoftReference<CachedDocument>(document));
+	}
+
+	synchronized void store(IRI documentIRI, byte[] contentHash, OWLOntology ontology) {
+
+		File file = getCacheFile(documentIRI);
+		File tempFile = new File(file.getPath() + TEMP_FILE_SUFFIX);
+
+		try {
+
+			cacheDir.mkdirs();
+
+			write(tempFile, contentHash, ontology);
+			FileUtils.replaceFile(tempFile, file);
+		}
+		catch (IOException e) {
+
+			tempFile.delete();
+		}
+		catch (OWLOntologyStorageException e) {
+
+			tempFile.delete();
+		}
+	}
+
+	synchronized void discardStored(IRI documentIRI) {
+
+		getCacheFile(documentIRI).delete();
+	}
+
+	private StoredDocument read(
+							File file,
+							IRI documentIRI,
+							byte[] contentHash)
+							throws IOException {
+
+		DataInputStream input = new DataInputStream(
+									new BufferedInputStream(
+										new FileInputStream(file),
+										BUFFER_SIZE));
+
+		try {
+
+			if (!input.readUTF().equals(toHex(contentHash))) {
+
+				return null;
+			}
+
+			OWLDocumentFormat format = createFormat(input.readUTF());
+			byte[] content = new byte[input.readInt()];
+
+			input.readFully(content);
+
+			return new StoredDocument(documentIRI, format, content);
+		}
+		finally {
+
+			input.close();
+		}
+	}
+
+	private void write(
+					File file,
+					byte[] contentHash,
+					OWLOntology ontology)
+					throws IOException, OWLOntologyStorageException {
+
+		OWLOntologyManager manager = ontology.getOWLOntologyManager();
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		manager.saveOntology(ontology, new FunctionalSyntaxDocumentFormat(), content);
+
+		DataOutputStream output = new DataOutputStream(
+										new BufferedOutputStream(
+											new FileOutputStream(file),
+											BUFFER_SIZE));
+
+		try {
+
+			output.writeUTF(toHex(contentHash));
+			output.writeUTF(manager.getOntologyFormat(ontology).getClass().getName());
+			output.writeInt(content.size());
+
+			content.writeTo(output);
+		}
+		finally {
+
+			output.close();
+		}
+	}
+
+	private OWLDocumentFormat createFormat(String className) throws IOException {
+
+		try {
+
+			Class<?> formatClass = Class.forName(className, false, getClass().getClassLoader());
+
+			return formatClass.asSubclass(OWLDocumentFormat.class).getConstructor().newInstance();
+		}
+		catch (ClassCastException e) {
+
+			throw new IOException("Unrecognised ontology format: " + className);
+		}
+		catch (ReflectiveOperationException e) {
+
+			throw new IOException("Cannot create ontology format: " + className);
+		}
+	}
+
+	private File getCacheFile(IRI documentIRI) {
+
+		String keySource = CACHE_KEY_PREFIX + documentIRI;
+		byte[] key = FileUtils.hash(keySource.getBytes(StandardCharsets.UTF_8));
+
+		return new File(cacheDir, toHex(key) + CACHE_FILE_SUFFIX);
+	}
+
+	private String toHex(byte[] bytes) {
+
+		return new BigInteger(1, bytes).toString(16);
+	}
+}
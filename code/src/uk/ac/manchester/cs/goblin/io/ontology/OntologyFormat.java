@@ -0,0 +1,52 @@
+package uk.ac.manchester.cs.goblin.io.ontology;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.formats.*;
+
+/**
+ * @author Colin Puleston
+ */
+public enum OntologyFormat {
+
+	RDF_XML {
+
+		OWLDocumentFormat createDocumentFormat() {
+
+			return new RDFXMLDocumentFormat();
+		}
+	},
+
+	FUNCTIONAL {
+
+		OWLDocumentFormat createDocumentFormat() {
+
+			return new FunctionalSyntaxDocumentFormat();
+		}
+	},
+
+	TURTLE {
+
+		OWLDocumentFormat createDocumentFormat() {
+
+			return new TurtleDocumentFormat();
+		}
+	},
+
+	OWL_XML {
+
+		OWLDocumentFormat createDocumentFormat() {
+
+			return new OWLXMLDocumentFormat();
+		}
+	},
+
+	BINARY_RDF {
+
+		OWLDocumentFormat createDocumentFormat() {
+
+			return new BinaryRDFDocumentFormat();
+		}
+	};
+
+	abstract OWLDocumentFormat createDocumentFormat();
+}
@@ -1,6 +1,7 @@
 package uk.ac.manchester.cs.goblin.io.ontology;
 
 import java.io.*;
+import java.util.*;
 
 import org.semanticweb.owlapi.model.*;
 
@@ -17,6 +18,57 @@ class PathSearchIRIMapper implements OWLOntologyIRIMapper {
 
 	private File leafDirectory;
 
+	private Map<File, DirectoryIndex> directoryIndexes = new HashMap<File, DirectoryIndex>();
+
+	private class DirectoryIndex {
+
+		private File dir;
+		private long lastModified;
+
+		private Map<String, File> filesByName = new HashMap<String, File>();
+		private Map<String, File> filesByCaseFreeName = new HashMap<String, File>();
+
+		DirectoryIndex(File dir) {
+
+			this.dir = dir;
+
+			build();
+		}
+
+		File getFileOrNull(String fileName) {
+
+			if (dir.lastModified() != lastModified) {
+
+				build();
+			}
+
+			File file = filesByName.get(fileName);
+
+			return file != null ? file : filesByCaseFreeName.get(toCaseFreeName(fileName));
+		}
+
+		private void build() {
+
+			lastModified = dir.lastModified();
+
+			filesByName.clear();
+			filesByCaseFreeName.clear();
+
+			File[] files = dir.listFiles();
+
+			if (files != null) {
+
+				for (File file : files) {
+
+					String name = file.getName();
+
+					filesByName.put(name, file);
+					filesByCaseFreeName.put(toCaseFreeName(name), file);
+				}
+			}
+		}
+	}
+
 	public IRI getDocumentIRI(IRI iri) {
 
 		File file = lookForFile(leafDirectory, guessFileName(iri));
@@ -63,25 +115,22 @@ class PathSearchIRIMapper implements OWLOntologyIRIMapper {
 		return parentDir != null ? lookForFile(parentDir, fileName) : null;
 	}
 
-	private File getFileOrNull(File dir, String fileName) {
+	private synchronized File getFileOrNull(File dir, String fileName) {
 
-		File caseFreeMatch = null;
+		DirectoryIndex index = directoryIndexes.get(dir);
 
-		for (File file : dir.listFiles()) {
+		if (index == null) {
 
-			String name = file.getName();
+			index = new DirectoryIndex(dir);
 
-			if (name.equals(fileName)) {
-
-				return file;
-			}
+			directoryIndexes.put(dir, index);
+		}
 
-			if (name.toUpperCase().equals(fileName.toUpperCase())) {
+		return index.getFileOrNull(fileName);
+	}
 
-				caseFreeMatch = file;
-			}
-		}
+	private String toCaseFreeName(String name) {
 
-		return caseFreeMatch;
+		return name.toUpperCase();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package uk.ac.manchester.cs.goblin.io.ontology;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.*;
+
+/**
+ * @author Colin Puleston
+ */
+abstract class Taxonomy<E extends OWLObject> {
+
+	static private final int[] NO_LINKS = new int[0];
+
+	private Map<E, Integer> nodeIndexesByEntity = new HashMap<E, Integer>();
+
+	private List<Set<E>> nodeEntities = new ArrayList<Set<E>>();
+
+	private int[][] childIndexes;
+	private int[][] parentIndexes;
+
+	private class Builder {
+
+		private List<Node<E>> nodes = new ArrayList<Node<E>>();
+		private Map<Node<E>, Integer> nodeIndexes = new HashMap<Node<E>, Integer>();
+
+		private List<List<Integer>> childLinks = new ArrayList<List<Integer>>();
+		private List<List<Integer>> parentLinks = new ArrayList<List<Integer>>();
+
+		Builder(Node<E> topNode) {
+
+			resolveIndex(topNode);
+
+			for (int i = 0; i < nodes.size(); i++) {
+
+				addChildLinks(i);
+			}
+
+			childIndexes = toIndexArrays(childLinks);
+			parentIndexes = toIndexArrays(parentLinks);
+		}
+
+		private void addChildLinks(int index) {
+
+			Node<E> node = nodes.get(index);
+
+			if (!node.isBottomNode()) {
+
+				for (Node<E> child : getDirectSubNodes(node.getRepresentativeElement())) {
+
+					int childIndex = resolveIndex(child);
+
+					childLinks.get(index).add(childIndex);
+					parentLinks.get(childIndex).add(index);
+				}
+			}
+		}
+
+		private int resolveIndex(Node<E> node) {
+
+			Integer index = nodeIndexes.get(node);
+
+			if (index == null) {
+
+				index = nodes.size();
+
+				nodes.add(node);
+				nodeIndexes.put(node, index);
+
+				childLinks.add(new ArrayList<Integer>());
+				parentLinks.add(new ArrayList<Integer>());
+
+				addNodeEntities(node, index);
+			}
+
+			return index;
+		}
+
+		private void addNodeEntities(Node<E> node, int index) {
+
+			Set<E> entities = node.getEntities();
+
+			nodeEntities.add(entities);
+
+			for (E entity : entities) {
+
+				nodeIndexesByEntity.put(entity, index);
+			}
+		}
+
+		private int[][] toIndexArrays(List<List<Integer>> links) {
+
+			int[][] arrays = new int[links.size()][];
+
+			for (int i = 0; i < arrays.length; i++) {
+
+				arrays[i] = toIndexArray(links.get(i));
+			}
+
+			return arrays;
+		}
+
+		private int[] toIndexArray(List<Integer> indexes) {
+
+			if (indexes.isEmpty()) {
+
+				return NO_LINKS;
+			}
+
+			int[] array = new int[indexes.size()];
+
+			for (int i = 0; i < array.length; i++) {
+
+				array[i] = indexes.get(i);
+			}
+
+			return array;
+		}
+	}
+
+	boolean contains(E entity) {
+
+		return nodeIndexesByEntity.containsKey(entity);
+	}
+
+	Set<E> getSubs(E entity, boolean direct) {
+
+		return getLinked(entity, childIndexes, direct);
+	}
+
+	Set<E> getSupers(E entity, boolean direct) {
+
+		return getLinked(entity, parentIndexes, direct);
+	}
+
+	void build(Node<E> topNode) {
+
+		new Builder(topNode);
+	}
+
+	abstract NodeSet<E> getDirectSubNodes(E entity);
+
+	private Set<E> getLinked(E entity, int[][] links, boolean direct) {
+
+		Set<E> linked = new HashSet<E>();
+		int index = nodeIndexesByEntity.get(entity);
+
+		if (direct) {
+
+			for (int linkedIndex : links[index]) {
+
+				linked.addAll(nodeEntities.get(linkedIndex));
+			}
+		}
+		else {
+
+			addAllLinked(index, links, linked);
+		}
+
+		return linked;
+	}
+
+	private void addAllLinked(int index, int[][] links, Set<E> linked) {
+
+		BitSet visited = new BitSet(nodeEntities.size());
+		Deque<Integer> pending = new ArrayDeque<Integer>();
+
+		pending.push(index);
+
+		while (!pending.isEmpty()) {
+
+			for (int linkedIndex : links[pending.pop()]) {
+
+				if (!visited.get(linkedIndex)) {
+
+					visited.set(linkedIndex);
+					linked.addAll(nodeEntities.get(linkedIndex));
+
+					pending.push(linkedIndex);
+				}
+			}
+		}
+	}
+}
@@ -14,6 +14,8 @@ public abstract class Attribute {
 
 	private Constraint rootConstraint;
 
+	private AttributeTracker tracker = new AttributeTracker(this);
+
 	public String toString() {
 
 		return getLabel() + "(" + rootSourceConcept + " --> " + rootTargetConcept + ")";
@@ -63,6 +65,11 @@ public abstract class Attribute {
 		rootSourceConcept.addConstraint(rootConstraint);
 	}
 
+	AttributeTracker toTracker() {
+
+		return tracker;
+	}
+
 	Model getModel() {
 
 		return rootSourceConcept.getModel();
@@ -9,14 +9,4 @@ class AttributeTracker extends EntityTracker<Attribute> {
 
 		super(attribute);
 	}
-
-	AttributeTracker(AttributeTracker template) {
-
-		super(template);
-	}
-
-	AttributeTracker copy() {
-
-		return new AttributeTracker(this);
-	}
 }
@@ -15,21 +15,16 @@ class AttributeTrackerSet extends EntityTrackerSet<Attribute, AttributeTracker>
 		super(attributes);
 	}
 
-	AttributeTrackerSet copy() {
-
-		return new AttributeTrackerSet(this);
-	}
-
 	AttributeTracker toTracker(Attribute attribute) {
 
-		return new AttributeTracker(attribute);
+		return attribute.toTracker();
 	}
 
 	List<DynamicAttribute> getDynamicAttributes() {
 
 		List<DynamicAttribute> attributes = new ArrayList<DynamicAttribute>();
 
-		for (Attribute attribute : getEntities()) {
+		for (Attribute attribute : getEntitiesView()) {
 
 			if (attribute instanceof DynamicAttribute) {
 
@@ -39,9 +34,4 @@ class AttributeTrackerSet extends EntityTrackerSet<Attribute, AttributeTracker>
 
 		return attributes;
 	}
-
-	private AttributeTrackerSet(AttributeTrackerSet template) {
-
-		super(template);
-	}
 }
@@ -8,14 +8,14 @@ import java.util.*;
 class AutoConfirmations implements Confirmations {
 
 	public boolean confirmConceptMoveOrphanedConstraintRemovals(
-						Concept concept,
+						List<Concept> concepts,
 						List<Constraint> removals) {
 
 		return true;
 	}
 
 	public boolean confirmConceptMoveConflictingConstraintRemovals(
-						Concept concept,
+						List<Concept> concepts,
 						List<Constraint> removals) {
 
 		return true;
@@ -37,8 +37,18 @@ public abstract class Concept {
 	private ConstraintTrackerSet constraints = new ConstraintTrackerSet();
 	private ConstraintTrackerSet inwardConstraints = new ConstraintTrackerSet();
 
+	private ConstraintIndex constraintIndex = new ConstraintIndex();
+	private ConstraintIndex inwardConstraintIndex = new ConstraintIndex();
+
+	private SubtreeConstraintCounts subtreeConstraintCounts = new SubtreeConstraintCounts();
+
+	private Map<Attribute, Constraint> closestValidValuesConstraints
+					= new HashMap<Attribute, Constraint>();
+
 	private List<ConceptListener> listeners = new ArrayList<ConceptListener>();
 
+	private ConceptTracker tracker = new ConceptTracker(this);
+
 	private class ConceptId extends EditableId<ConceptListener> {
 
 		ConceptId(EntityId id) {
@@ -50,6 +60,11 @@ public abstract class Concept {
 
 			return new ModelEditLocation(Concept.this);
 		}
+
+		void onIdReset(EntityId oldId) {
+
+			hierarchy.onConceptIdReset(Concept.this, oldId);
+		}
 	}
 
 	private class AddRemoveTarget implements EditTarget {
@@ -70,109 +85,32 @@ public abstract class Concept {
 					? new ModelEditLocation(hierarchy)
 					: new ModelEditLocation(Concept.this);
 		}
-
-		Concept getConcept() {
-
-			return Concept.this;
-		}
 	}
 
-	private class ReplaceConceptAction extends ReplaceAction<AddRemoveTarget> {
-
-		protected void performInterSubActionUpdates(
-								AddRemoveTarget target1,
-								AddRemoveTarget target2) {
-
-			getConceptTracking().updateForReplacement(target1.getConcept(), target2.getConcept());
-		}
-
-		ReplaceConceptAction(Concept replacement) {
-
-			super(new AddRemoveTarget(), replacement.createAddRemoveTarget());
-		}
-	}
-
-	private class ConstraintMatcher {
-
-		private Attribute attribute;
-		private boolean inwards;
-
-		private ConstraintSemantics semantics = null;
-		private List<Concept> targetValues = null;
-
-		ConstraintMatcher(Attribute attribute, boolean inwards) {
-
-			this.attribute = attribute;
-			this.inwards = inwards;
-		}
-
-		void setMatchSemantics(ConstraintSemantics semantics) {
-
-			this.semantics = semantics;
-		}
-
-		void setMatchTargetValues(Collection<Concept> targetValues) {
+	private class MoveTarget implements EditTarget {
 
-			this.targetValues = new ArrayList<Concept>(targetValues);
-		}
-
-		boolean anyMatches() {
-
-			return !findMatches(true).isEmpty();
-		}
-
-		List<Constraint> getAll() {
-
-			return findMatches(false);
-		}
-
-		Constraint getOneOrZero() {
-
-			List<Constraint> matches = findMatches(true);
-
-			return matches.isEmpty() ? null : matches.iterator().next();
-		}
-
-		private List<Constraint> findMatches(boolean maxOne) {
-
-			List<Constraint> selections = new ArrayList<Constraint>();
-
-			for (Constraint candidate : getCandidates()) {
+		private ConceptTracker fromParent;
+		private ConceptTracker toParent;
 
-				if (match(candidate)) {
-
-					selections.add(candidate);
-
-					if (maxOne) {
-
-						break;
-					}
-				}
-			}
-
-			return selections;
-		}
-
-		private List<Constraint> getCandidates() {
+		public void doAdd() {
 
-			return (inwards ? inwardConstraints : constraints).getEntities();
+			doMove(fromParent.getEntity(), toParent.getEntity());
 		}
 
-		private boolean match(Constraint candidate) {
+		public void doRemove() {
 
-			return candidate.onAttribute(attribute)
-					&& checkSemanticsMatch(candidate)
-					&& checkTargetValuesMatch(candidate);
+			doMove(toParent.getEntity(), fromParent.getEntity());
 		}
 
-		private boolean checkSemanticsMatch(Constraint candidate) {
+		public EditLocation createLocation(boolean postRemovalOp) {
 
-			return semantics == null || candidate.hasSemantics(semantics);
+			return new ModelEditLocation(Concept.this);
 		}
 
-		private boolean checkTargetValuesMatch(Constraint candidate) {
+		MoveTarget(Concept newParent) {
 
-			return targetValues == null || candidate.getTargetValues().equals(targetValues);
+			fromParent = parent;
+			toParent = newParent.toTracker();
 		}
 	}
 
@@ -186,7 +124,7 @@ public abstract class Concept {
 
 			if (!newId.getLabel().equals(currentId.getLabel())) {
 
-				conceptId.resetId(newId);
+				performIdReset(newId);
 			}
 		}
 		else {
@@ -196,7 +134,7 @@ public abstract class Concept {
 				return false;
 			}
 
-			conceptId.resetId(newId);
+			performIdReset(newId);
 		}
 
 		return true;
@@ -220,6 +158,8 @@ public abstract class Concept {
 
 		if (action != null) {
 
+			getEditRecorder().recordConceptMove(this, newParent);
+
 			performAction(action);
 
 			return true;
@@ -232,6 +172,8 @@ public abstract class Concept {
 
 		checkCanPerformOperation(canMove());
 
+		getEditRecorder().recordConceptRemoval(this);
+
 		performAction(createRemoveAction());
 	}
 
@@ -239,6 +181,8 @@ public abstract class Concept {
 
 		Concept child = createChild(id);
 
+		getEditRecorder().recordChildAddition(this, id);
+
 		child.parent = toTracker();
 		child.add();
 
@@ -247,26 +191,22 @@ public abstract class Concept {
 
 	public DynamicAttribute addDynamicAttribute(EntityId attrId, EntityId rootTargetConceptId) {
 
+		checkNewDynamicAttribute(attrId);
+
+		getEditRecorder().recordDynamicAttributeAddition(this, attrId, rootTargetConceptId);
+
 		Hierarchy targets = getModel().createDynamicValueHierarchy(rootTargetConceptId);
 
-		return addDynamicAttribute(attrId, targets.getRootConcept());
+		return createDynamicAttribute(attrId, targets.getRootConcept());
 	}
 
 	public DynamicAttribute addDynamicAttribute(EntityId attrId, Concept rootTargetConcept) {
 
-		if (applicableDynamicAttribute(attrId)) {
-
-			throw new RuntimeException("Dynamic attribute already exists: " + attrId);
-		}
-
-		DynamicAttribute attribute = new DynamicAttribute(attrId, this, rootTargetConcept);
+		checkNewDynamicAttribute(attrId);
 
-		if (attribute.add()) {
+		getEditRecorder().recordDynamicAttributeAddition(this, attrId, rootTargetConcept);
 
-			return attribute;
-		}
-
-		return null;
+		return createDynamicAttribute(attrId, rootTargetConcept);
 	}
 
 	public boolean addValidValuesConstraint(Attribute attribute, Concept targetValue) {
@@ -352,7 +292,7 @@ public abstract class Concept {
 
 	public Concept lookForChild(EntityId id) {
 
-		for (Concept child : children.getEntities()) {
+		for (Concept child : children.getEntitiesView()) {
 
 			if (child.getConceptId().equals(id)) {
 
@@ -383,7 +323,7 @@ public abstract class Concept {
 
 	public boolean descendantOf(Concept testAncestor) {
 
-		return getParent().equals(testAncestor) || getParent().descendantOf(testAncestor);
+		return hierarchy.descendantOf(this, testAncestor);
 	}
 
 	public List<Attribute> getApplicableAttributes() {
@@ -431,16 +371,12 @@ public abstract class Concept {
 
 	public List<Constraint> getConstraints(Attribute attribute) {
 
-		return new ConstraintMatcher(attribute, false).getAll();
+		return constraintIndex.getAll(attribute);
 	}
 
 	public Constraint lookForConstraint(Attribute attribute, ConstraintSemantics semantics) {
 
-		ConstraintMatcher matcher = new ConstraintMatcher(attribute, false);
-
-		matcher.setMatchSemantics(semantics);
-
-		return matcher.getOneOrZero();
+		return constraintIndex.lookForFirst(attribute, semantics);
 	}
 
 	public Constraint lookForValidValuesConstraint(Attribute attribute) {
@@ -455,18 +391,26 @@ public abstract class Concept {
 
 	public List<Constraint> getImpliedValueConstraints(Attribute attribute) {
 
-		ConstraintMatcher matcher = new ConstraintMatcher(attribute, false);
-
-		matcher.setMatchSemantics(ConstraintSemantics.IMPLIED_VALUE);
-
-		return matcher.getAll();
+		return constraintIndex.getAll(attribute, ConstraintSemantics.IMPLIED_VALUE);
 	}
 
 	public Constraint getClosestValidValuesConstraint(Attribute attribute) {
 
-		Constraint sub = lookForValidValuesConstraint(attribute);
+		if (closestValidValuesConstraints.containsKey(attribute)) {
+
+			return closestValidValuesConstraints.get(attribute);
+		}
+
+		Constraint closest = lookForValidValuesConstraint(attribute);
 
-		return sub != null ? sub : getClosestAncestorValidValuesConstraint(attribute);
+		if (closest == null) {
+
+			closest = getClosestAncestorValidValuesConstraint(attribute);
+		}
+
+		closestValidValuesConstraints.put(attribute, closest);
+
+		return closest;
 	}
 
 	public Constraint getClosestAncestorValidValuesConstraint(Attribute attribute) {
@@ -481,7 +425,7 @@ public abstract class Concept {
 
 	public List<Constraint> getInwardConstraints(Attribute attribute) {
 
-		return new ConstraintMatcher(attribute, true).getAll();
+		return inwardConstraintIndex.getAll(attribute);
 	}
 
 	Concept(Hierarchy hierarchy, EntityId conceptId) {
@@ -490,35 +434,26 @@ public abstract class Concept {
 		this.conceptId = new ConceptId(conceptId);
 	}
 
-	Concept(Concept replaced, Concept newParent) {
-
-		hierarchy = replaced.hierarchy;
-		conceptId = new ConceptId(replaced.getConceptId());
-		children = replaced.children.copy();
-		constraints = replaced.constraints.copy();
-		inwardConstraints = replaced.inwardConstraints.copy();
-
-		parent = newParent.toTracker();
-	}
-
 	EditAction checkCreateMoveAction(Concept newParent) {
 
 		ConflictResolution conflictRes = checkMoveConflicts(newParent);
 
 		if (conflictRes.resolvable()) {
 
-			Concept replacement = createMovedReplacement(newParent);
-			EditAction action = new ReplaceConceptAction(replacement);
-
-			return conflictRes.incorporateResolvingEdits(action);
+			return conflictRes.incorporateResolvingEdits(createMoveAction(newParent));
 		}
 
 		return null;
 	}
 
+	EditAction createMoveAction(Concept newParent) {
+
+		return new MoveAction(new MoveTarget(newParent));
+	}
+
 	EditAction createRemoveAction() {
 
-		EditAction action = new RemoveAction(new AddRemoveTarget());
+		EditAction action = new RemoveAction(new AddRemoveTarget(), countSubtreeEntities());
 
 		if (!inwardConstraints.isEmpty()) {
 
@@ -570,27 +505,22 @@ public abstract class Concept {
 
 	ConceptTracker toTracker() {
 
-		return getConceptTracking().toTracker(this);
+		return tracker;
 	}
 
-	Concept lookForConceptDownwards(EntityId id) {
-
-		if (getConceptId().equals(id)) {
+	Collection<Concept> getChildrenView() {
 
-			return this;
-		}
+		return children.getEntitiesView();
+	}
 
-		for (Concept child : getChildren()) {
+	Collection<Constraint> getConstraintsView() {
 
-			Concept concept = child.lookForConceptDownwards(id);
+		return constraints.getEntitiesView();
+	}
 
-			if (concept != null) {
+	Collection<Constraint> getInwardConstraintsView() {
 
-				return concept;
-			}
-		}
-
-		return null;
+		return inwardConstraints.getEntitiesView();
 	}
 
 	boolean hasDynamicAttribute(DynamicAttribute attribute) {
@@ -616,6 +546,11 @@ public abstract class Concept {
 		return attributes;
 	}
 
+	boolean anyConstraintsDownwards(Attribute attribute) {
+
+		return subtreeConstraintCounts.any(attribute);
+	}
+
 	List<Constraint> getConstraintsDownwards(Attribute attribute) {
 
 		List<Constraint> constraints = new ArrayList<Constraint>();
@@ -625,33 +560,105 @@ public abstract class Concept {
 		return constraints;
 	}
 
-	abstract Concept createMovedReplacement(Concept newParent);
+	void removeAllConceptListenersDownwards() {
+
+		listeners.clear();
+
+		for (Concept child : getChildrenView()) {
+
+			child.removeAllConceptListenersDownwards();
+		}
+	}
 
 	RuntimeException createInvalidOperationException() {
 
 		return new RuntimeException("Cannot perform operation on this concept!");
 	}
 
+	private void checkNewDynamicAttribute(EntityId attrId) {
+
+		if (applicableDynamicAttribute(attrId)) {
+
+			throw new RuntimeException("Dynamic attribute already exists: " + attrId);
+		}
+	}
+
+	private DynamicAttribute createDynamicAttribute(EntityId attrId, Concept rootTargetConcept) {
+
+		DynamicAttribute attribute = new DynamicAttribute(attrId, this, rootTargetConcept);
+
+		if (attribute.add()) {
+
+			return attribute;
+		}
+
+		return null;
+	}
+
+	private void performIdReset(EntityId newId) {
+
+		getEditRecorder().recordConceptIdReset(this, newId);
+
+		conceptId.resetId(newId);
+	}
+
 	private void add() {
 
 		performAction(new AddAction(new AddRemoveTarget()));
 	}
 
+	private int countSubtreeEntities() {
+
+		int count = 1 + constraints.getEntitiesView().size();
+
+		for (Concept child : children.getEntitiesView()) {
+
+			count += child.countSubtreeEntities();
+		}
+
+		return count;
+	}
+
 	private void doAdd() {
 
 		Concept parent = getParent();
 
 		parent.children.add(this);
+		parent.updateSubtreeConstraintCountsUpwards(subtreeConstraintCounts, true);
+		hierarchy.onConceptAdded(this);
+
+		clearAllClosestValidValuesConstraintsDownwards();
+
 		parent.onChildAdded(this);
 	}
 
 	private void doRemove() {
 
-		getParent().children.remove(this);
+		Concept parent = getParent();
+
+		parent.children.remove(this);
+		parent.updateSubtreeConstraintCountsUpwards(subtreeConstraintCounts, false);
+		hierarchy.onConceptRemoved(this);
 
 		onConceptRemoved();
+	}
+
+	private void doMove(Concept fromParent, Concept toParent) {
+
+		fromParent.children.remove(this);
+		fromParent.updateSubtreeConstraintCountsUpwards(subtreeConstraintCounts, false);
+
+		parent = toParent.toTracker();
 
-		removeAllConceptListenersDownwards();
+		toParent.children.add(this);
+		toParent.updateSubtreeConstraintCountsUpwards(subtreeConstraintCounts, true);
+
+		hierarchy.onConceptMoved(this);
+
+		clearAllClosestValidValuesConstraintsDownwards();
+
+		toParent.onChildAdded(this);
+		onConceptMoved(fromParent);
 	}
 
 	private Concept createChild(EntityId id) {
@@ -673,19 +680,96 @@ public abstract class Concept {
 
 		ConstraintTracker tracker = constraints.add(constraint);
 
-		for (Concept target : constraint.getTargetValues()) {
+		constraintIndex.add(constraint);
+		updateSubtreeConstraintCountsUpwards(constraint.getAttribute(), 1);
+
+		for (Concept target : constraint.getTargetValuesView()) {
 
 			target.inwardConstraints.add(tracker);
+			target.inwardConstraintIndex.add(constraint);
 		}
+
+		onConstraintsUpdate(constraint);
 	}
 
 	private void removeConstraintNoListenerPoll(Constraint constraint) {
 
 		ConstraintTracker tracker = constraints.remove(constraint);
 
-		for (Concept target : constraint.getTargetValues()) {
+		constraintIndex.remove(constraint);
+		updateSubtreeConstraintCountsUpwards(constraint.getAttribute(), -1);
+
+		for (Concept target : constraint.getTargetValuesView()) {
 
 			target.inwardConstraints.remove(tracker);
+			target.inwardConstraintIndex.remove(constraint);
+		}
+
+		onConstraintsUpdate(constraint);
+	}
+
+	private void updateSubtreeConstraintCountsUpwards(Attribute attribute, int delta) {
+
+		subtreeConstraintCounts.update(attribute, delta);
+
+		if (attachedToParent()) {
+
+			getParent().updateSubtreeConstraintCountsUpwards(attribute, delta);
+		}
+	}
+
+	private void updateSubtreeConstraintCountsUpwards(
+					SubtreeConstraintCounts deltas,
+					boolean adding) {
+
+		if (!deltas.isEmpty()) {
+
+			subtreeConstraintCounts.updateAll(deltas, adding);
+
+			if (attachedToParent()) {
+
+				getParent().updateSubtreeConstraintCountsUpwards(deltas, adding);
+			}
+		}
+	}
+
+	private boolean attachedToParent() {
+
+		return !isRoot() && getParent().children.containsEntity(this);
+	}
+
+	private void onConstraintsUpdate(Constraint constraint) {
+
+		if (constraint.getSemantics().validValues()) {
+
+			clearClosestValidValuesConstraintsDownwards(constraint.getAttribute());
+		}
+	}
+
+	private void clearClosestValidValuesConstraintsDownwards(Attribute attribute) {
+
+		closestValidValuesConstraints.remove(attribute);
+
+		for (Concept child : getChildrenView()) {
+
+			if (child.closestValidValuesConstraints.containsKey(attribute)
+				&& child.lookForValidValuesConstraint(attribute) == null) {
+
+				child.clearClosestValidValuesConstraintsDownwards(attribute);
+			}
+		}
+	}
+
+	private void clearAllClosestValidValuesConstraintsDownwards() {
+
+		closestValidValuesConstraints.clear();
+
+		for (Concept child : getChildrenView()) {
+
+			if (!child.closestValidValuesConstraints.isEmpty()) {
+
+				child.clearAllClosestValidValuesConstraintsDownwards();
+			}
 		}
 	}
 
@@ -693,7 +777,7 @@ public abstract class Concept {
 
 		onConstraintAdded(constraint, true);
 
-		for (Concept target : constraint.getTargetValues()) {
+		for (Concept target : constraint.getTargetValuesView()) {
 
 			target.onConstraintAdded(constraint, false);
 		}
@@ -703,7 +787,7 @@ public abstract class Concept {
 
 		onConstraintRemoved(constraint, true);
 
-		for (Concept target : constraint.getTargetValues()) {
+		for (Concept target : constraint.getTargetValuesView()) {
 
 			target.onConstraintRemoved(constraint, false);
 		}
@@ -722,27 +806,17 @@ public abstract class Concept {
 
 	private void addInwardTargetRemovalEditsDownwards(CompoundEditAction compoundAction) {
 
-		for (Constraint constraint : inwardConstraints.getEntities()) {
+		for (Constraint constraint : inwardConstraints.getEntitiesView()) {
 
 			compoundAction.addSubAction(constraint.createTargetValueRemovalEditAction(this));
 		}
 
-		for (Concept child : getChildren()) {
+		for (Concept child : getChildrenView()) {
 
 			child.addInwardTargetRemovalEditsDownwards(compoundAction);
 		}
 	}
 
-	private void removeAllConceptListenersDownwards() {
-
-		listeners.clear();
-
-		for (Concept child : getChildren()) {
-
-			child.removeAllConceptListenersDownwards();
-		}
-	}
-
 	private ConflictResolution checkMoveConflicts(Concept newParent) {
 
 		return getModel().getConflictResolver().checkConceptMove(this, newParent);
@@ -781,7 +855,7 @@ public abstract class Concept {
 
 		attributes.addAll(dynamicAttributes.getDynamicAttributes());
 
-		for (Concept child : getChildren()) {
+		for (Concept child : getChildrenView()) {
 
 			child.collectDynamicAttributesDownwards(attributes);
 		}
@@ -791,11 +865,14 @@ public abstract class Concept {
 					Attribute attribute,
 					List<Constraint> constraints) {
 
-		constraints.addAll(getConstraints(attribute));
+		if (anyConstraintsDownwards(attribute)) {
+
+			constraints.addAll(getConstraints(attribute));
 
-		for (Concept child : getChildren()) {
+			for (Concept child : getChildrenView()) {
 
-			child.collectConstraintsDownwards(attribute, constraints);
+				child.collectConstraintsDownwards(attribute, constraints);
+			}
 		}
 	}
 
@@ -812,49 +889,32 @@ public abstract class Concept {
 						ConstraintSemantics semantics,
 						Collection<Concept> targetValues) {
 
-		ConstraintMatcher matcher = new ConstraintMatcher(attribute, false);
-
-		matcher.setMatchSemantics(semantics);
-		matcher.setMatchTargetValues(targetValues);
-
-		return matcher.anyMatches();
+		return constraintIndex.anyMatch(attribute, semantics, targetValues);
 	}
 
 	private void onChildAdded(Concept child) {
 
-		for (ConceptListener listener : copyListeners()) {
-
-			listener.onChildAdded(child);
-		}
+		getConceptEvents().onChildAdded(this, listeners, child);
 	}
 
 	private void onConstraintAdded(Constraint constraint, boolean outward) {
 
-		for (ConceptListener listener : copyListeners()) {
-
-			listener.onConstraintAdded(constraint, outward);
-		}
+		getConceptEvents().onConstraintAdded(this, listeners, constraint, outward);
 	}
 
 	private void onConstraintRemoved(Constraint constraint, boolean outward) {
 
-		for (ConceptListener listener : copyListeners()) {
-
-			listener.onConstraintRemoved(constraint, outward);
-		}
+		getConceptEvents().onConstraintRemoved(this, listeners, constraint, outward);
 	}
 
-	private void onConceptRemoved() {
+	private void onConceptMoved(Concept formerParent) {
 
-		for (ConceptListener listener : copyListeners()) {
-
-			listener.onConceptRemoved();
-		}
+		getConceptEvents().onConceptMoved(this, listeners, formerParent);
 	}
 
-	private List<ConceptListener> copyListeners() {
+	private void onConceptRemoved() {
 
-		return new ArrayList<ConceptListener>(listeners);
+		getConceptEvents().onConceptRemoved(this, listeners);
 	}
 
 	private void checkCanPerformOperation(boolean canDo) {
@@ -865,11 +925,6 @@ public abstract class Concept {
 		}
 	}
 
-	private AddRemoveTarget createAddRemoveTarget() {
-
-		return new AddRemoveTarget();
-	}
-
 	private void performAction(EditAction action) {
 
 		getEditActions().perform(action);
@@ -880,8 +935,13 @@ public abstract class Concept {
 		return getModel().getEditActions();
 	}
 
-	private ConceptTracking getConceptTracking() {
+	private ModelEditRecorder getEditRecorder() {
+
+		return getModel().getEditRecorder();
+	}
+
+	private ConceptEvents getConceptEvents() {
 
-		return getModel().getConceptTracking();
+		return getModel().getConceptEvents();
 	}
 }
@@ -0,0 +1,320 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ConceptEvents {
+
+	private int batchDepth = 0;
+
+	private Set<ConceptEvent> pendingEvents = new LinkedHashSet<ConceptEvent>();
+	private Set<Concept> pendingUpdatedConcepts = new LinkedHashSet<Concept>();
+	private List<ModelUpdateListener> updateListeners = new ArrayList<ModelUpdateListener>();
+
+	private abstract class ConceptEvent {
+
+		private Concept concept;
+		private Object argument;
+		private boolean outward;
+
+		private List<ConceptListener> liveListeners;
+		private List<ConceptListener> eventListeners;
+
+		public boolean equals(Object other) {
+
+			if (other == null || other.getClass() != getClass()) {
+
+				return false;
+			}
+
+			ConceptEvent otherEvent = (ConceptEvent)other;
+
+			return otherEvent.concept == concept
+					&& otherEvent.argument == argument
+					&& otherEvent.outward == outward;
+		}
+
+		public int hashCode() {
+
+			return concept.hashCode() + System.identityHashCode(argument) + (outward ? 1 : 0);
+		}
+
+		ConceptEvent(
+			Concept concept,
+			List<ConceptListener> listeners,
+			Object argument,
+			boolean outward) {
+
+			this.concept = concept;
+			this.argument = argument;
+			this.outward = outward;
+
+			liveListeners = listeners;
+			eventListeners = new ArrayList<ConceptListener>(listeners);
+		}
+
+		void deliver() {
+
+			for (ConceptListener listener : eventListeners) {
+
+				if (liveListeners.contains(listener)) {
+
+					deliverTo(listener);
+				}
+			}
+		}
+
+		ConceptEvent createCancellingEvent() {
+
+			return null;
+		}
+
+		void addUpdatedConcepts(Set<Concept> updatedConcepts) {
+
+			updatedConcepts.add(concept);
+		}
+
+		Concept getConcept() {
+
+			return concept;
+		}
+
+		List<ConceptListener> getLiveListeners() {
+
+			return liveListeners;
+		}
+
+		Object getArgument() {
+
+			return argument;
+		}
+
+		boolean outward() {
+
+			return outward;
+		}
+
+		abstract void deliverTo(ConceptListener listener);
+	}
+
+	private class ChildAddedEvent extends ConceptEvent {
+
+		ChildAddedEvent(Concept concept, List<ConceptListener> listeners, Concept child) {
+
+			super(concept, listeners, child, false);
+		}
+
+		void deliverTo(ConceptListener listener) {
+
+			listener.onChildAdded((Concept)getArgument());
+		}
+
+		void addUpdatedConcepts(Set<Concept> updatedConcepts) {
+
+			super.addUpdatedConcepts(updatedConcepts);
+
+			updatedConcepts.add((Concept)getArgument());
+		}
+	}
+
+	private class ConstraintAddedEvent extends ConceptEvent {
+
+		ConstraintAddedEvent(
+			Concept concept,
+			List<ConceptListener> listeners,
+			Constraint constraint,
+			boolean outward) {
+
+			super(concept, listeners, constraint, outward);
+		}
+
+		void deliverTo(ConceptListener listener) {
+
+			listener.onConstraintAdded((Constraint)getArgument(), outward());
+		}
+
+		ConceptEvent createCancellingEvent() {
+
+			return new ConstraintRemovedEvent(
+							getConcept(),
+							getLiveListeners(),
+							(Constraint)getArgument(),
+							outward());
+		}
+	}
+
+	private class ConstraintRemovedEvent extends ConceptEvent {
+
+		ConstraintRemovedEvent(
+			Concept concept,
+			List<ConceptListener> listeners,
+			Constraint constraint,
+			boolean outward) {
+
+			super(concept, listeners, constraint, outward);
+		}
+
+		void deliverTo(ConceptListener listener) {
+
+			listener.onConstraintRemoved((Constraint)getArgument(), outward());
+		}
+
+		ConceptEvent createCancellingEvent() {
+
+			return new ConstraintAddedEvent(
+							getConcept(),
+							getLiveListeners(),
+							(Constraint)getArgument(),
+							outward());
+		}
+	}
+
+	private class ConceptMovedEvent extends ConceptEvent {
+
+		private Concept formerParent;
+
+		ConceptMovedEvent(
+			Concept concept,
+			List<ConceptListener> listeners,
+			Concept formerParent) {
+
+			super(concept, listeners, null, false);
+
+			this.formerParent = formerParent;
+		}
+
+		void deliverTo(ConceptListener listener) {
+
+			listener.onConceptMoved(formerParent);
+		}
+	}
+
+	private class ConceptRemovedEvent extends ConceptEvent {
+
+		ConceptRemovedEvent(Concept concept, List<ConceptListener> listeners) {
+
+			super(concept, listeners, null, false);
+		}
+
+		void deliver() {
+
+			super.deliver();
+
+			getConcept().removeAllConceptListenersDownwards();
+		}
+
+		void deliverTo(ConceptListener listener) {
+
+			listener.onConceptRemoved();
+		}
+	}
+
+	void addUpdateListener(ModelUpdateListener listener) {
+
+		updateListeners.add(listener);
+	}
+
+	void removeUpdateListener(ModelUpdateListener listener) {
+
+		updateListeners.remove(listener);
+	}
+
+	void startBatch() {
+
+		batchDepth++;
+	}
+
+	void endBatch() {
+
+		if (--batchDepth == 0) {
+
+			deliverPendingEvents();
+		}
+	}
+
+	void onChildAdded(Concept concept, List<ConceptListener> listeners, Concept child) {
+
+		addEvent(new ChildAddedEvent(concept, listeners, child));
+	}
+
+	void onConstraintAdded(
+			Concept concept,
+			List<ConceptListener> listeners,
+			Constraint constraint,
+			boolean outward) {
+
+		addEvent(new ConstraintAddedEvent(concept, listeners, constraint, outward));
+	}
+
+	void onConstraintRemoved(
+			Concept concept,
+			List<ConceptListener> listeners,
+			Constraint constraint,
+			boolean outward) {
+
+		addEvent(new ConstraintRemovedEvent(concept, listeners, constraint, outward));
+	}
+
+	void onConceptMoved(Concept concept, List<ConceptListener> listeners, Concept formerParent) {
+
+		addEvent(new ConceptMovedEvent(concept, listeners, formerParent));
+	}
+
+	void onConceptRemoved(Concept concept, List<ConceptListener> listeners) {
+
+		addEvent(new ConceptRemovedEvent(concept, listeners));
+	}
+
+	void onConceptUpdated(Concept concept) {
+
+		startBatch();
+
+		pendingUpdatedConcepts.add(concept);
+
+		endBatch();
+	}
+
+	private void addEvent(ConceptEvent event) {
+
+		startBatch();
+
+		ConceptEvent cancelling = event.createCancellingEvent();
+
+		if (cancelling == null || !pendingEvents.remove(cancelling)) {
+
+			pendingEvents.add(event);
+		}
+
+		endBatch();
+	}
+
+	private void deliverPendingEvents() {
+
+		List<ConceptEvent> events = new ArrayList<ConceptEvent>(pendingEvents);
+		Set<Concept> updatedConcepts = new LinkedHashSet<Concept>(pendingUpdatedConcepts);
+
+		pendingEvents.clear();
+		pendingUpdatedConcepts.clear();
+
+		for (ConceptEvent event : events) {
+
+			event.deliver();
+			event.addUpdatedConcepts(updatedConcepts);
+		}
+
+		if (!updatedConcepts.isEmpty()) {
+
+			for (ModelUpdateListener listener : copyUpdateListeners()) {
+
+				listener.onConceptsUpdated(updatedConcepts);
+			}
+		}
+	}
+
+	private List<ModelUpdateListener> copyUpdateListeners() {
+
+		return new ArrayList<ModelUpdateListener>(updateListeners);
+	}
+}
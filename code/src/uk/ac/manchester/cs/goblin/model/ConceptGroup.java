@@ -21,6 +21,8 @@ public class ConceptGroup {
 
 			if (action != null) {
 
+				record();
+
 				getEditActions().perform(action);
 
 				return true;
@@ -29,9 +31,11 @@ public class ConceptGroup {
 			return false;
 		}
 
+		abstract void record();
+
 		abstract EditAction checkCreateSubAction(Concept concept);
 
-		private EditAction resolveGroupAction() {
+		EditAction resolveGroupAction() {
 
 			addSubActions();
 
@@ -76,14 +80,46 @@ public class ConceptGroup {
 			this.newParent = newParent;
 		}
 
+		EditAction resolveGroupAction() {
+
+			ConflictResolution conflictRes = checkMoveConflicts();
+
+			if (conflictRes.resolvable()) {
+
+				EditAction moves = super.resolveGroupAction();
+
+				if (moves != null) {
+
+					return conflictRes.incorporateResolvingEdits(moves);
+				}
+			}
+
+			return null;
+		}
+
+		void record() {
+
+			getEditRecorder().recordConceptGroupMove(concepts, newParent);
+		}
+
 		EditAction checkCreateSubAction(Concept concept) {
 
-			return concept.checkCreateMoveAction(newParent);
+			return concept.createMoveAction(newParent);
+		}
+
+		private ConflictResolution checkMoveConflicts() {
+
+			return getModel().getConflictResolver().checkConceptGroupMove(concepts, newParent);
 		}
 	}
 
 	private class GroupRemover extends GroupAction {
 
+		void record() {
+
+			getEditRecorder().recordConceptGroupRemoval(concepts);
+		}
+
 		EditAction checkCreateSubAction(Concept concept) {
 
 			return concept.createRemoveAction();
@@ -110,8 +146,18 @@ public class ConceptGroup {
 		new GroupRemover().checkPerform();
 	}
 
+	private ModelEditRecorder getEditRecorder() {
+
+		return getModel().getEditRecorder();
+	}
+
 	private EditActions<?> getEditActions() {
 
-		return concepts.get(0).getModel().getEditActions();
+		return getModel().getEditActions();
+	}
+
+	private Model getModel() {
+
+		return concepts.get(0).getModel();
 	}
 }
@@ -0,0 +1,126 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ConceptIndex {
+
+	private Map<EntityId, Concept> conceptsById = new HashMap<EntityId, Concept>();
+	private ConceptLabelIndex labelIndex = null;
+	private EntityIdUsage idUsage;
+
+	ConceptIndex() {
+
+		this(null);
+	}
+
+	ConceptIndex(EntityIdUsage idUsage) {
+
+		this.idUsage = idUsage;
+	}
+
+	void addAll(ConceptIndex other) {
+
+		for (Map.Entry<EntityId, Concept> entry : other.conceptsById.entrySet()) {
+
+			add(entry.getKey(), entry.getValue());
+		}
+	}
+
+	void addDownwards(Concept concept) {
+
+		add(concept.getConceptId(), concept);
+
+		for (Concept child : concept.getChildrenView()) {
+
+			addDownwards(child);
+		}
+	}
+
+	void removeDownwards(Concept concept) {
+
+		remove(concept.getConceptId(), concept);
+
+		for (Concept child : concept.getChildrenView()) {
+
+			removeDownwards(child);
+		}
+	}
+
+	void updateForIdReset(Concept concept, EntityId oldId) {
+
+		if (remove(oldId, concept)) {
+
+			add(concept.getConceptId(), concept);
+		}
+	}
+
+	int size() {
+
+		return conceptsById.size();
+	}
+
+	Concept lookFor(EntityId id) {
+
+		return conceptsById.get(id);
+	}
+
+	List<Concept> search(String query, Collection<Concept> scopeRoots, int maxResults) {
+
+		if (labelIndex == null) {
+
+			labelIndex = new ConceptLabelIndex(conceptsById.values());
+		}
+
+		return labelIndex.search(query, scopeRoots, maxResults);
+	}
+
+	private void add(EntityId id, Concept concept) {
+
+		Concept replaced = conceptsById.put(id, concept);
+
+		if (idUsage != null) {
+
+			if (replaced != null) {
+
+				idUsage.remove(replaced.getConceptId());
+			}
+
+			idUsage.add(id);
+		}
+
+		if (labelIndex != null && replaced != concept) {
+
+			if (replaced != null) {
+
+				labelIndex.remove(replaced);
+			}
+
+			labelIndex.add(id, concept);
+		}
+	}
+
+	private boolean remove(EntityId id, Concept concept) {
+
+		if (conceptsById.get(id) == concept) {
+
+			conceptsById.remove(id);
+
+			if (idUsage != null) {
+
+				idUsage.remove(id);
+			}
+
+			if (labelIndex != null) {
+
+				labelIndex.remove(concept);
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+}
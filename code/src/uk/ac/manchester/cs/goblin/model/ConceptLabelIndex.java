@@ -0,0 +1,289 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ConceptLabelIndex {
+
+	static private final String TERM_SEPARATORS = "[^\\p{L}\\p{N}]+";
+
+	static private final int EXACT_LABEL_RANK = 0;
+	static private final int LABEL_PREFIX_RANK = 1;
+	static private final int LABEL_TERMS_RANK = 2;
+	static private final int NAME_RANK = 3;
+
+	static String normalise(String text) {
+
+		return text.trim().toLowerCase();
+	}
+
+	static List<String> toTerms(String text) {
+
+		List<String> terms = new ArrayList<String>();
+
+		for (String term : normalise(text).split(TERM_SEPARATORS)) {
+
+			if (!term.isEmpty()) {
+
+				terms.add(term);
+			}
+		}
+
+		return terms;
+	}
+
+	private NavigableMap<String, Set<Concept>> conceptsByTerm = new TreeMap<String, Set<Concept>>();
+	private Map<Concept, IndexedLabel> labelsByConcept = new HashMap<Concept, IndexedLabel>();
+
+	private class IndexedLabel {
+
+		private String label;
+		private List<String> labelTerms;
+		private Set<String> indexTerms;
+
+		IndexedLabel(EntityId id) {
+
+			label = normalise(id.getLabel());
+			labelTerms = toTerms(label);
+
+			indexTerms = new HashSet<String>(labelTerms);
+			indexTerms.add(normalise(id.getName()));
+		}
+
+		boolean allTermsInLabel(List<String> queryTerms) {
+
+			for (String queryTerm : queryTerms) {
+
+				if (!anyLabelTermStartsWith(queryTerm)) {
+
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		private boolean anyLabelTermStartsWith(String prefix) {
+
+			for (String term : labelTerms) {
+
+				if (term.startsWith(prefix)) {
+
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
+
+	private class Match implements Comparable<Match> {
+
+		private Concept concept;
+		private String label;
+		private int rank;
+
+		public int compareTo(Match other) {
+
+			if (rank != other.rank) {
+
+				return rank - other.rank;
+			}
+
+			if (label.length() != other.label.length()) {
+
+				return label.length() - other.label.length();
+			}
+
+			return label.compareTo(other.label);
+		}
+
+		Match(Concept concept, IndexedLabel indexedLabel, String query, List<String> queryTerms) {
+
+			this.concept = concept;
+
+			label = indexedLabel.label;
+			rank = getRank(indexedLabel, query, queryTerms);
+		}
+
+		private int getRank(IndexedLabel indexedLabel, String query, List<String> queryTerms) {
+
+			if (label.equals(query)) {
+
+				return EXACT_LABEL_RANK;
+			}
+
+			if (label.startsWith(query)) {
+
+				return LABEL_PREFIX_RANK;
+			}
+
+			return indexedLabel.allTermsInLabel(queryTerms) ? LABEL_TERMS_RANK : NAME_RANK;
+		}
+	}
+
+	ConceptLabelIndex(Collection<Concept> concepts) {
+
+		for (Concept concept : concepts) {
+
+			add(concept.getConceptId(), concept);
+		}
+	}
+
+	void add(EntityId id, Concept concept) {
+
+		IndexedLabel indexedLabel = new IndexedLabel(id);
+
+		labelsByConcept.put(concept, indexedLabel);
+
+		for (String term : indexedLabel.indexTerms) {
+
+			Set<Concept> concepts = conceptsByTerm.get(term);
+
+			if (concepts == null) {
+
+				concepts = new HashSet<Concept>();
+
+				conceptsByTerm.put(term, concepts);
+			}
+
+			concepts.add(concept);
+		}
+	}
+
+	void remove(Concept concept) {
+
+		IndexedLabel indexedLabel = labelsByConcept.remove(concept);
+
+		if (indexedLabel == null) {
+
+			return;
+		}
+
+		for (String term : indexedLabel.indexTerms) {
+
+			Set<Concept> concepts = conceptsByTerm.get(term);
+
+			if (concepts != null && concepts.remove(concept) && concepts.isEmpty()) {
+
+				conceptsByTerm.remove(term);
+			}
+		}
+	}
+
+	List<Concept> search(String query, Collection<Concept> scopeRoots, int maxResults) {
+
+		List<String> queryTerms = toTerms(query);
+
+		if (queryTerms.isEmpty() || maxResults <= 0) {
+
+			return Collections.emptyList();
+		}
+
+		Set<Concept> candidates = findCandidates(queryTerms);
+		PriorityQueue<Match> bestMatches = createBestMatchesHeap(candidates.size(), maxResults);
+		String normalisedQuery = normalise(query);
+
+		for (Concept candidate : candidates) {
+
+			if (scopeRoots == null || candidate.subsumedByAny(scopeRoots)) {
+
+				IndexedLabel indexedLabel = labelsByConcept.get(candidate);
+
+				bestMatches.add(new Match(candidate, indexedLabel, normalisedQuery, queryTerms));
+
+				if (bestMatches.size() > maxResults) {
+
+					bestMatches.poll();
+				}
+			}
+		}
+
+		return toConcepts(bestMatches);
+	}
+
+	private PriorityQueue<Match> createBestMatchesHeap(int candidateCount, int maxResults) {
+
+		int capacity = Math.min(candidateCount, maxResults) + 1;
+
+		return new PriorityQueue<Match>(capacity, Collections.<Match>reverseOrder());
+	}
+
+	private Set<Concept> findCandidates(List<String> queryTerms) {
+
+		List<Set<Concept>> termMatches = new ArrayList<Set<Concept>>();
+
+		for (String queryTerm : queryTerms) {
+
+			Set<Concept> termMatch = findTermMatches(queryTerm);
+
+			if (termMatch.isEmpty()) {
+
+				return Collections.emptySet();
+			}
+
+			termMatches.add(termMatch);
+		}
+
+		return intersect(termMatches);
+	}
+
+	private Set<Concept> findTermMatches(String prefix) {
+
+		Set<Concept> matches = new HashSet<Concept>();
+
+		for (Set<Concept> concepts : getPrefixedTermEntries(prefix).values()) {
+
+			matches.addAll(concepts);
+		}
+
+		return matches;
+	}
+
+	private SortedMap<String, Set<Concept>> getPrefixedTermEntries(String prefix) {
+
+		return conceptsByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+	}
+
+	private Set<Concept> intersect(List<Set<Concept>> sets) {
+
+		Set<Concept> smallest = sets.get(0);
+
+		for (Set<Concept> set : sets) {
+
+			if (set.size() < smallest.size()) {
+
+				smallest = set;
+			}
+		}
+
+		Set<Concept> intersection = new HashSet<Concept>(smallest);
+
+		for (Set<Concept> set : sets) {
+
+			if (set != smallest) {
+
+				intersection.retainAll(set);
+			}
+		}
+
+		return intersection;
+	}
+
+	private List<Concept> toConcepts(PriorityQueue<Match> bestMatches) {
+
+		List<Match> matches = new ArrayList<Match>(bestMatches);
+		List<Concept> concepts = new ArrayList<Concept>();
+
+		Collections.sort(matches);
+
+		for (Match match : matches) {
+
+			concepts.add(match.concept);
+		}
+
+		return concepts;
+	}
+}
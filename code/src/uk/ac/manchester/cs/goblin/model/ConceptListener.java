@@ -11,5 +11,7 @@ public interface ConceptListener extends EditableIdListener {
 
 	public void onConstraintRemoved(Constraint constraint, boolean outward);
 
+	public void onConceptMoved(Concept formerParent);
+
 	public void onConceptRemoved();
 }
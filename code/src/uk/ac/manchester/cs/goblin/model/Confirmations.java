@@ -8,11 +8,11 @@ import java.util.*;
 public interface Confirmations {
 
 	public boolean confirmConceptMoveOrphanedConstraintRemovals(
-						Concept concept,
+						List<Concept> concepts,
 						List<Constraint> removals);
 
 	public boolean confirmConceptMoveConflictingConstraintRemovals(
-						Concept concept,
+						List<Concept> concepts,
 						List<Constraint> removals);
 
 	public boolean confirmConstraintAdditionConflictRemovals(List<Constraint> removals);
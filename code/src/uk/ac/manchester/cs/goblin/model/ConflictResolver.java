@@ -25,13 +25,6 @@ class ConflictResolver {
 			attribute = subject.getAttribute();
 		}
 
-		boolean anyFrom(Concept start) {
-
-			findFrom(start);
-
-			return !conflicts.isEmpty();
-		}
-
 		List<Constraint> findAllFromLinkedConcepts(Concept start) {
 
 			findFromLinkedConcepts(start);
@@ -39,7 +32,7 @@ class ConflictResolver {
 			return conflicts;
 		}
 
-		abstract List<Concept> getLinkedConcepts(Concept current);
+		abstract Collection<Concept> getLinkedConcepts(Concept current);
 
 		abstract Constraint getAncestorConstraint(Constraint candidate);
 
@@ -53,40 +46,30 @@ class ConflictResolver {
 			}
 		}
 
-		private void findFrom(Concept current) {
-
-			for (Constraint candidate : current.getConstraints(attribute)) {
-
-				if (conflicts(candidate)) {
-
-					conflicts.add(candidate);
-				}
-			}
+		boolean searchFrom(Concept current) {
 
-			findFromLinkedConcepts(current);
+			return true;
 		}
 
-		private boolean conflicts(Constraint candidate) {
-
-			Constraint anc = getAncestorConstraint(candidate);
-			Constraint dec = getDescendantConstraint(candidate);
+		private void findFrom(Concept current) {
 
-			if (anc.getSemantics().impliedValue()) {
+			if (searchFrom(current)) {
 
-				if (dec.getSemantics().impliedValue()) {
+				for (Constraint candidate : current.getConstraints(attribute)) {
 
-					if (attribute.getConstraintsOption().singleImpliedValues()) {
+					if (conflicts(candidate)) {
 
-						return !dec.getTargetValue().descendantOf(anc.getTargetValue());
+						conflicts.add(candidate);
 					}
-
-					return anc.getTargetValue().subsumedBy(dec.getTargetValue());
 				}
 
-				return false;
+				findFromLinkedConcepts(current);
 			}
+		}
+
+		private boolean conflicts(Constraint candidate) {
 
-			return !Concept.allSubsumed(anc.getTargetValues(), dec.getTargetValues());
+			return conflicting(getAncestorConstraint(candidate), getDescendantConstraint(candidate));
 		}
 	}
 
@@ -97,7 +80,7 @@ class ConflictResolver {
 			super(constraint);
 		}
 
-		List<Concept> getLinkedConcepts(Concept current) {
+		Collection<Concept> getLinkedConcepts(Concept current) {
 
 			return current.getParents();
 		}
@@ -120,9 +103,14 @@ class ConflictResolver {
 			super(constraint);
 		}
 
-		List<Concept> getLinkedConcepts(Concept current) {
+		boolean searchFrom(Concept current) {
 
-			return current.getChildren();
+			return current.anyConstraintsDownwards(subject.getAttribute());
+		}
+
+		Collection<Concept> getLinkedConcepts(Concept current) {
+
+			return current.getChildrenView();
 		}
 
 		Constraint getAncestorConstraint(Constraint candidate) {
@@ -145,6 +133,11 @@ class ConflictResolver {
 			this.removals = removals;
 		}
 
+		List<Constraint> getRemovals() {
+
+			return removals;
+		}
+
 		ConflictResolution check() {
 
 			if (removals.isEmpty()) {
@@ -177,38 +170,45 @@ class ConflictResolver {
 
 	private class ConceptMoveOrphanedConstraintsResolver extends ConstraintConflictsResolver {
 
-		private Concept concept;
+		private List<Concept> concepts;
+
+		private List<DynamicAttribute> newParentAttributes;
 
-		ConceptMoveOrphanedConstraintsResolver(Concept concept, Concept newParent) {
+		ConceptMoveOrphanedConstraintsResolver(List<Concept> concepts, Concept newParent) {
 
-			this.concept = concept;
+			this.concepts = concepts;
 
-			initialise(findOrphanedConstraints(newParent));
+			newParentAttributes = newParent.getDynamicAttributesUpwards();
+
+			initialise(findOrphanedConstraints());
 		}
 
 		boolean confirmConstraintRemovals(List<Constraint> removals) {
 
-			return confirmations.confirmConceptMoveOrphanedConstraintRemovals(concept, removals);
+			return confirmations.confirmConceptMoveOrphanedConstraintRemovals(concepts, removals);
 		}
 
-		private List<Constraint> findOrphanedConstraints(Concept newParent) {
+		private List<Constraint> findOrphanedConstraints() {
+
+			Set<Constraint> orphaneds = new LinkedHashSet<Constraint>();
 
-			List<Constraint> orphaneds = new ArrayList<Constraint>();
+			for (Concept concept : concepts) {
 
-			for (DynamicAttribute attr : getPotentialOrphanParentAttributes(newParent)) {
+				for (DynamicAttribute attr : getPotentialOrphanParentAttributes(concept)) {
 
-				orphaneds.addAll(concept.getConstraintsDownwards(attr));
+					orphaneds.addAll(concept.getConstraintsDownwards(attr));
+				}
 			}
 
-			return orphaneds;
+			return new ArrayList<Constraint>(orphaneds);
 		}
 
-		private List<DynamicAttribute> getPotentialOrphanParentAttributes(Concept newParent) {
+		private List<DynamicAttribute> getPotentialOrphanParentAttributes(Concept concept) {
 
 			List<DynamicAttribute> attrs = new ArrayList<DynamicAttribute>();
 
 			attrs.addAll(concept.getParent().getDynamicAttributesUpwards());
-			attrs.removeAll(newParent.getDynamicAttributesUpwards());
+			attrs.removeAll(newParentAttributes);
 
 			return attrs;
 		}
@@ -216,34 +216,48 @@ class ConflictResolver {
 
 	private class ConceptMoveConflictingConstraintsResolver extends ConstraintConflictsResolver {
 
-		private Concept concept;
+		private List<Concept> concepts;
 		private Concept newParent;
 
+		private Map<Attribute, List<Constraint>> newParentConstraintsUpwards
+							= new HashMap<Attribute, List<Constraint>>();
+
 		private class ConflictsFinder {
 
 			final List<Constraint> conflicts = new ArrayList<Constraint>();
 
-			ConflictsFinder() {
+			private Set<Concept> visited = new HashSet<Concept>();
+			private Set<Constraint> exclusions;
+
+			ConflictsFinder(Collection<Constraint> exclusions) {
+
+				this.exclusions = new HashSet<Constraint>(exclusions);
 
-				findDownwardsFrom(concept);
+				for (Concept concept : concepts) {
+
+					findDownwardsFrom(concept);
+				}
 			}
 
 			private void findDownwardsFrom(Concept current) {
 
-				findFor(current.getConstraints());
-				findFor(current.getInwardConstraints());
+				if (visited.add(current)) {
 
-				for (Concept child : current.getChildren()) {
+					findFor(current.getConstraintsView());
+					findFor(current.getInwardConstraintsView());
 
-					findDownwardsFrom(child);
+					for (Concept child : current.getChildrenView()) {
+
+						findDownwardsFrom(child);
+					}
 				}
 			}
 
-			private void findFor(List<Constraint> constraints) {
+			private void findFor(Collection<Constraint> constraints) {
 
 				for (Constraint constraint : constraints) {
 
-					if (anyUpwardConflicts(constraint)) {
+					if (!exclusions.contains(constraint) && anyUpwardConflicts(constraint)) {
 
 						conflicts.add(constraint);
 					}
@@ -252,21 +266,60 @@ class ConflictResolver {
 
 			private boolean anyUpwardConflicts(Constraint constraint) {
 
-				return new UpwardsConstraintConflictFinder(constraint).anyFrom(newParent);
+				for (Constraint candidate : getNewParentConstraintsUpwards(constraint.getAttribute())) {
+
+					if (conflicting(candidate, constraint)) {
+
+						return true;
+					}
+				}
+
+				return false;
 			}
 		}
 
-		ConceptMoveConflictingConstraintsResolver(Concept concept, Concept newParent) {
+		ConceptMoveConflictingConstraintsResolver(
+			List<Concept> concepts,
+			Concept newParent,
+			Collection<Constraint> exclusions) {
 
-			this.concept = concept;
+			this.concepts = concepts;
 			this.newParent = newParent;
 
-			initialise(new ConflictsFinder().conflicts);
+			initialise(new ConflictsFinder(exclusions).conflicts);
 		}
 
 		boolean confirmConstraintRemovals(List<Constraint> removals) {
 
-			return confirmations.confirmConceptMoveConflictingConstraintRemovals(concept, removals);
+			return confirmations.confirmConceptMoveConflictingConstraintRemovals(concepts, removals);
+		}
+
+		private List<Constraint> getNewParentConstraintsUpwards(Attribute attribute) {
+
+			List<Constraint> constraints = newParentConstraintsUpwards.get(attribute);
+
+			if (constraints == null) {
+
+				constraints = new ArrayList<Constraint>();
+
+				collectConstraintsUpwards(newParent, attribute, constraints);
+				newParentConstraintsUpwards.put(attribute, constraints);
+			}
+
+			return constraints;
+		}
+
+		private void collectConstraintsUpwards(
+						Concept current,
+						Attribute attribute,
+						List<Constraint> constraints) {
+
+			constraints.addAll(current.getConstraints(attribute));
+
+			for (Concept parent : current.getParents()) {
+
+				collectConstraintsUpwards(parent, attribute, constraints);
+			}
 		}
 	}
 
@@ -305,14 +358,28 @@ class ConflictResolver {
 
 	ConflictResolution checkConceptMove(Concept concept, Concept newParent) {
 
-		ConflictResolution orphans = checkConceptMoveOrphanedConstraints(concept, newParent);
+		return checkConceptGroupMove(Collections.singletonList(concept), newParent);
+	}
+
+	ConflictResolution checkConceptGroupMove(List<Concept> concepts, Concept newParent) {
+
+		ConstraintConflictsResolver orphansResolver
+			= new ConceptMoveOrphanedConstraintsResolver(concepts, newParent);
+
+		ConflictResolution orphans = orphansResolver.check();
 
 		if (orphans == ConflictResolution.NO_RESOLUTION) {
 
 			return ConflictResolution.NO_RESOLUTION;
 		}
 
-		ConflictResolution invalids = checkConceptMoveConflictingConstraints(concept, newParent);
+		ConstraintConflictsResolver invalidsResolver
+			= new ConceptMoveConflictingConstraintsResolver(
+					concepts,
+					newParent,
+					orphansResolver.getRemovals());
+
+		ConflictResolution invalids = invalidsResolver.check();
 
 		if (invalids == ConflictResolution.NO_RESOLUTION) {
 
@@ -337,17 +404,25 @@ class ConflictResolver {
 		return new ConstraintAdditionConflictsResolver(constraint).check();
 	}
 
-	private ConflictResolution checkConceptMoveOrphanedConstraints(
-									Concept concept,
-									Concept newParent) {
+	private boolean conflicting(Constraint anc, Constraint dec) {
 
-		return new ConceptMoveOrphanedConstraintsResolver(concept, newParent).check();
-	}
+		Attribute attribute = anc.getAttribute();
 
-	private ConflictResolution checkConceptMoveConflictingConstraints(
-									Concept concept,
-									Concept newParent) {
+		if (anc.getSemantics().impliedValue()) {
+
+			if (dec.getSemantics().impliedValue()) {
+
+				if (attribute.getConstraintsOption().singleImpliedValues()) {
+
+					return !dec.getTargetValue().descendantOf(anc.getTargetValue());
+				}
+
+				return anc.getTargetValue().subsumedBy(dec.getTargetValue());
+			}
+
+			return false;
+		}
 
-		return new ConceptMoveConflictingConstraintsResolver(concept, newParent).check();
+		return !Concept.allSubsumed(anc.getTargetValuesView(), dec.getTargetValuesView());
 	}
 }
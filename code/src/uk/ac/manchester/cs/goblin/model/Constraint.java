@@ -14,6 +14,8 @@ public abstract class Constraint {
 	private ConceptTracker sourceValue;
 	private ConceptTrackerSet targetValues;
 
+	private ConstraintTracker tracker = new ConstraintTracker(this);
+
 	private class AddRemoveTarget implements EditTarget {
 
 		public void doAdd() {
@@ -39,6 +41,8 @@ public abstract class Constraint {
 
 	public void remove() {
 
+		getModel().getEditRecorder().recordConstraintRemoval(this);
+
 		performAction(new RemoveAction(new AddRemoveTarget()));
 	}
 
@@ -69,7 +73,7 @@ public abstract class Constraint {
 
 	public Concept getTargetValue() {
 
-		List<Concept> targets = getTargetValues();
+		Collection<Concept> targets = getTargetValuesView();
 
 		if (targets.size() == 1) {
 
@@ -120,6 +124,8 @@ public abstract class Constraint {
 			action = conflictRes.incorporateResolvingEdits(action);
 			action = checkIncorporateConstraintRemoval(action);
 
+			recordAddition(getModel().getEditRecorder());
+
 			performAction(action);
 
 			return true;
@@ -128,6 +134,16 @@ public abstract class Constraint {
 		return false;
 	}
 
+	ConstraintTracker toTracker() {
+
+		return tracker;
+	}
+
+	Collection<Concept> getTargetValuesView() {
+
+		return targetValues.getEntitiesView();
+	}
+
 	boolean onAttribute(Attribute testAttr) {
 
 		return testAttr.equals(attribute);
@@ -145,6 +161,8 @@ public abstract class Constraint {
 						replacement.createAddRemoveTarget());
 	}
 
+	abstract void recordAddition(ModelEditRecorder recorder);
+
 	abstract EditAction createTargetValueRemovalEditAction(Concept target);
 
 	abstract boolean onlySingleConstraintOfTypeAllowed();
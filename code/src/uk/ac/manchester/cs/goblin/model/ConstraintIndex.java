@@ -0,0 +1,132 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ConstraintIndex {
+
+	private Map<Attribute, AttributeConstraints> byAttribute
+					= new HashMap<Attribute, AttributeConstraints>();
+
+	private class AttributeConstraints {
+
+		private List<Constraint> all = new ArrayList<Constraint>();
+
+		private Map<ConstraintSemantics, List<Constraint>> bySemantics
+					= new EnumMap<ConstraintSemantics, List<Constraint>>(ConstraintSemantics.class);
+
+		AttributeConstraints() {
+
+			for (ConstraintSemantics semantics : ConstraintSemantics.values()) {
+
+				bySemantics.put(semantics, new ArrayList<Constraint>());
+			}
+		}
+
+		void add(Constraint constraint) {
+
+			all.add(constraint);
+			get(constraint.getSemantics()).add(constraint);
+		}
+
+		boolean remove(Constraint constraint) {
+
+			all.remove(constraint);
+			get(constraint.getSemantics()).remove(constraint);
+
+			return all.isEmpty();
+		}
+
+		List<Constraint> getAll() {
+
+			return all;
+		}
+
+		List<Constraint> get(ConstraintSemantics semantics) {
+
+			return bySemantics.get(semantics);
+		}
+	}
+
+	void add(Constraint constraint) {
+
+		Attribute attribute = constraint.getAttribute();
+		AttributeConstraints constraints = byAttribute.get(attribute);
+
+		if (constraints == null) {
+
+			constraints = new AttributeConstraints();
+
+			byAttribute.put(attribute, constraints);
+		}
+
+		constraints.add(constraint);
+	}
+
+	void remove(Constraint constraint) {
+
+		Attribute attribute = constraint.getAttribute();
+		AttributeConstraints constraints = byAttribute.get(attribute);
+
+		if (constraints != null && constraints.remove(constraint)) {
+
+			byAttribute.remove(attribute);
+		}
+	}
+
+	List<Constraint> getAll(Attribute attribute) {
+
+		AttributeConstraints constraints = byAttribute.get(attribute);
+
+		if (constraints == null) {
+
+			return new ArrayList<Constraint>();
+		}
+
+		return new ArrayList<Constraint>(constraints.getAll());
+	}
+
+	List<Constraint> getAll(Attribute attribute, ConstraintSemantics semantics) {
+
+		return new ArrayList<Constraint>(getView(attribute, semantics));
+	}
+
+	Constraint lookForFirst(Attribute attribute, ConstraintSemantics semantics) {
+
+		List<Constraint> constraints = getView(attribute, semantics);
+
+		return constraints.isEmpty() ? null : constraints.get(0);
+	}
+
+	boolean anyMatch(
+				Attribute attribute,
+				ConstraintSemantics semantics,
+				Collection<Concept> targetValues) {
+
+		List<Concept> targetValuesList = new ArrayList<Concept>(targetValues);
+
+		for (Constraint constraint : getView(attribute, semantics)) {
+
+			if (constraint.getTargetValues().equals(targetValuesList)) {
+
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private List<Constraint> getView(Attribute attribute, ConstraintSemantics semantics) {
+
+		AttributeConstraints constraints = byAttribute.get(attribute);
+
+		if (constraints == null) {
+
+			return Collections.emptyList();
+		}
+
+		return constraints.get(semantics);
+	}
+}
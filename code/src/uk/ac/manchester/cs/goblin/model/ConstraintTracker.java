@@ -9,14 +9,4 @@ class ConstraintTracker extends EntityTracker<Constraint> {
 
 		super(constraint);
 	}
-
-	ConstraintTracker(ConstraintTracker template) {
-
-		super(template);
-	}
-
-	ConstraintTracker copy() {
-
-		return new ConstraintTracker(this);
-	}
 }
@@ -15,18 +15,8 @@ class ConstraintTrackerSet extends EntityTrackerSet<Constraint, ConstraintTracke
 		super(constraints);
 	}
 
-	ConstraintTrackerSet copy() {
-
-		return new ConstraintTrackerSet(this);
-	}
-
 	ConstraintTracker toTracker(Constraint constraint) {
 
-		return new ConstraintTracker(constraint);
-	}
-
-	private ConstraintTrackerSet(ConstraintTrackerSet template) {
-
-		super(template);
+		return constraint.toTracker();
 	}
 }
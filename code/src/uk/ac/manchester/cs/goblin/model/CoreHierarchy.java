@@ -115,6 +115,9 @@ public class CoreHierarchy extends Hierarchy {
 
 	void onAddedDynamicAttribute(DynamicAttribute attribute) {
 
+		activateTargetValues(attribute);
+		getModel().getConceptEvents().onConceptUpdated(attribute.getRootSourceConcept());
+
 		for (HierarchyListener listener : copyListeners()) {
 
 			listener.onAddedDynamicAttribute(attribute);
@@ -123,6 +126,9 @@ public class CoreHierarchy extends Hierarchy {
 
 	void onRemovedDynamicAttribute(DynamicAttribute attribute) {
 
+		deactivateTargetValues(attribute);
+		getModel().getConceptEvents().onConceptUpdated(attribute.getRootSourceConcept());
+
 		for (HierarchyListener listener : copyListeners()) {
 
 			listener.onRemovedDynamicAttribute(attribute);
@@ -35,9 +35,11 @@ public abstract class CoreHierarchyContainer {
 
 		for (Hierarchy hierarchy : hierarchies) {
 
-			if (hierarchy.containsConcept(conceptId)) {
+			Concept concept = hierarchy.lookForConcept(conceptId);
 
-				return hierarchy.getConcept(conceptId);
+			if (concept != null) {
+
+				return concept;
 			}
 		}
 
@@ -22,6 +22,14 @@ public class DynamicAttribute extends Attribute {
 
 			return new ModelEditLocation(DynamicAttribute.this);
 		}
+
+		void onIdReset(EntityId oldId) {
+
+			for (Constraint constraint : getConstraintsDownwards()) {
+
+				getModel().getConceptEvents().onConceptUpdated(constraint.getSourceValue());
+			}
+		}
 	}
 
 	private class AddRemoveTarget implements EditTarget {
@@ -53,6 +61,8 @@ public class DynamicAttribute extends Attribute {
 			throw new RuntimeException("Attribute already exists for concept: " + source);
 		}
 
+		getModel().getEditRecorder().recordAttributeIdReset(this, attrId);
+
 		attributeId.resetId(attrId);
 	}
 
@@ -73,6 +83,8 @@ public class DynamicAttribute extends Attribute {
 
 	public void remove() {
 
+		getModel().getEditRecorder().recordDynamicAttributeRemoval(this);
+
 		performAction(createRemoveAction());
 	}
 
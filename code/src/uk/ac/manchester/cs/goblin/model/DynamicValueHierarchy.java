@@ -7,6 +7,8 @@ import java.util.*;
  */
 class DynamicValueHierarchy extends Hierarchy {
 
+	private int activeTargetingAttributes = 0;
+
 	public void addCoreAttribute(Attribute attribute) {
 
 		throw createNotDynamicValuesOpException();
@@ -67,6 +69,22 @@ class DynamicValueHierarchy extends Hierarchy {
 		return new RootDynamicConcept(this, rootConceptId);
 	}
 
+	void onTargetingAttributeActivated(ConceptIndex valueConceptIndex) {
+
+		if (activeTargetingAttributes++ == 0) {
+
+			setModelConceptIndex(valueConceptIndex);
+		}
+	}
+
+	void onTargetingAttributeDeactivated() {
+
+		if (--activeTargetingAttributes == 0) {
+
+			clearModelConceptIndex();
+		}
+	}
+
 	ConstraintsOption getDynamicAttributeConstraintsOption() {
 
 		throw createNotDynamicValuesOpException();
@@ -13,6 +13,7 @@ abstract class EditableId<L extends EditableIdListener> {
 	private List<L> listeners;
 
 	private EditActions<?> editActions;
+	private ReplaceIdAction latestReplaceIdAction = null;
 
 	private class IdUpdateTarget implements EditTarget {
 
@@ -20,8 +21,11 @@ abstract class EditableId<L extends EditableIdListener> {
 
 		public void doAdd() {
 
+			EntityId oldId = id;
+
 			id = editId;
 
+			onIdReset(oldId);
 			onIdUpdate();
 		}
 
@@ -39,6 +43,19 @@ abstract class EditableId<L extends EditableIdListener> {
 		}
 	}
 
+	private class ReplaceIdAction extends ReplaceAction<IdUpdateTarget> {
+
+		protected IdUpdateTarget lookForMergedAddTarget(EditAction next) {
+
+			return next == latestReplaceIdAction ? latestReplaceIdAction.getAddTarget() : null;
+		}
+
+		ReplaceIdAction(EntityId newId) {
+
+			super(new IdUpdateTarget(id), new IdUpdateTarget(newId));
+		}
+	}
+
 	EditableId(EntityId id, EditActions<?> editActions, List<L> listeners) {
 
 		this.id = id;
@@ -48,7 +65,9 @@ abstract class EditableId<L extends EditableIdListener> {
 
 	void resetId(EntityId attrId) {
 
-		editActions.perform(createReplaceIdAction(attrId));
+		latestReplaceIdAction = new ReplaceIdAction(attrId);
+
+		editActions.perform(latestReplaceIdAction);
 	}
 
 	void addListener(L listener) {
@@ -79,11 +98,7 @@ abstract class EditableId<L extends EditableIdListener> {
 
 	abstract EditLocation createEditLocation();
 
-	private ReplaceAction<IdUpdateTarget> createReplaceIdAction(EntityId newId) {
-
-		return new ReplaceAction<IdUpdateTarget>(
-						new IdUpdateTarget(id),
-						new IdUpdateTarget(newId));
+	void onIdReset(EntityId oldId) {
 	}
 
 	private void onIdUpdate() {
@@ -9,14 +9,4 @@ class EntityIdTracker extends EntityTracker<EntityId> {
 
 		super(concept);
 	}
-
-	EntityIdTracker(EntityIdTracker template) {
-
-		super(template);
-	}
-
-	EntityIdTracker copy() {
-
-		return new EntityIdTracker(this);
-	}
 }
@@ -0,0 +1,83 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.concurrent.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class EntityIdUsage {
+
+	private ConcurrentMap<String, Integer> nameCounts = new ConcurrentHashMap<String, Integer>();
+	private ConcurrentMap<String, Integer> labelCounts = new ConcurrentHashMap<String, Integer>();
+
+	public boolean nameInUse(String name, EntityId excludedId) {
+
+		int count = getCount(nameCounts, name);
+
+		if (excludedId != null && excludedId.dynamicId() && excludedId.getName().equals(name)) {
+
+			count--;
+		}
+
+		return count > 0;
+	}
+
+	public boolean labelInUse(String label, EntityId excludedId) {
+
+		String normalisedLabel = ConceptLabelIndex.normalise(label);
+		int count = getCount(labelCounts, normalisedLabel);
+
+		if (excludedId != null && getNormalisedLabel(excludedId).equals(normalisedLabel)) {
+
+			count--;
+		}
+
+		return count > 0;
+	}
+
+	void add(EntityId id) {
+
+		if (id.dynamicId()) {
+
+			updateCount(nameCounts, id.getName(), 1);
+		}
+
+		updateCount(labelCounts, getNormalisedLabel(id), 1);
+	}
+
+	void remove(EntityId id) {
+
+		if (id.dynamicId()) {
+
+			updateCount(nameCounts, id.getName(), -1);
+		}
+
+		updateCount(labelCounts, getNormalisedLabel(id), -1);
+	}
+
+	private void updateCount(ConcurrentMap<String, Integer> counts, String key, int increment) {
+
+		int count = getCount(counts, key) + increment;
+
+		if (count > 0) {
+
+			counts.put(key, count);
+		}
+		else {
+
+			counts.remove(key);
+		}
+	}
+
+	private int getCount(ConcurrentMap<String, Integer> counts, String key) {
+
+		Integer count = counts.get(key);
+
+		return count != null ? count : 0;
+	}
+
+	private String getNormalisedLabel(EntityId id) {
+
+		return ConceptLabelIndex.normalise(id.getLabel());
+	}
+}
@@ -12,16 +12,6 @@ class EntityTracker<E> {
 		this.entity = entity;
 	}
 
-	EntityTracker(EntityTracker<E> template) {
-
-		this(template.entity);
-	}
-
-	void replaceEntity(E replacement) {
-
-		entity = replacement;
-	}
-
 	E getEntity() {
 
 		return entity;
@@ -7,7 +7,41 @@ import java.util.*;
  */
 abstract class EntityTrackerSet<E, T extends EntityTracker<E>> {
 
-	private List<T> trackers = new ArrayList<T>();
+	private Set<T> trackers = new LinkedHashSet<T>();
+	private Collection<E> entitiesView = new EntitiesView();
+
+	private class EntitiesView extends AbstractCollection<E> {
+
+		public Iterator<E> iterator() {
+
+			return new EntitiesIterator();
+		}
+
+		public int size() {
+
+			return trackers.size();
+		}
+	}
+
+	private class EntitiesIterator implements Iterator<E> {
+
+		private Iterator<T> trackerIterator = trackers.iterator();
+
+		public boolean hasNext() {
+
+			return trackerIterator.hasNext();
+		}
+
+		public E next() {
+
+			return trackerIterator.next().getEntity();
+		}
+
+		public void remove() {
+
+			throw new UnsupportedOperationException();
+		}
+	}
 
 	EntityTrackerSet() {
 	}
@@ -60,37 +94,26 @@ abstract class EntityTrackerSet<E, T extends EntityTracker<E>> {
 
 	boolean containsEntity(E entity) {
 
-		for (T tracker : trackers) {
-
-			if (tracker.getEntity() == entity) {
-
-				return true;
-			}
-		}
-
-		return false;
+		return trackers.contains(toTracker(entity));
 	}
 
 	List<E> getEntities() {
 
-		List<E> entities = new ArrayList<E>();
-
-		for (T tracker : trackers) {
+		return new ArrayList<E>(entitiesView);
+	}
 
-			entities.add(tracker.getEntity());
-		}
+	Collection<E> getEntitiesView() {
 
-		return entities;
+		return entitiesView;
 	}
 
 	T getTrackerFor(E entity) {
 
-		for (T tracker : trackers) {
+		T tracker = toTracker(entity);
 
-			if (tracker.getEntity().equals(entity)) {
+		if (trackers.contains(tracker)) {
 
-				return tracker;
-			}
+			return tracker;
 		}
 
 		throw new Error("Cannot find tracker for: " + entity);
@@ -12,6 +12,11 @@ public abstract class Hierarchy {
 
 	private RootConcept rootConcept;
 
+	private ConceptIndex conceptIndex = new ConceptIndex();
+	private ConceptIndex modelConceptIndex = null;
+
+	private SubsumptionIndex subsumptionIndex = new SubsumptionIndex(this);
+
 	private List<Attribute> inwardCoreAttributes = new ArrayList<Attribute>();
 
 	public void setLabel(String label) {
@@ -19,6 +24,11 @@ public abstract class Hierarchy {
 		this.label = label;
 	}
 
+	public void setSubsumptionIndexing(boolean enabled) {
+
+		subsumptionIndex.setEnabled(enabled);
+	}
+
 	public abstract void setDynamicAttributeConstraints(ConstraintsOption constraintsOption);
 
 	public abstract void addCoreAttribute(Attribute attribute);
@@ -68,7 +78,7 @@ public abstract class Hierarchy {
 
 	public Concept lookForConcept(EntityId conceptId) {
 
-		return rootConcept.lookForConceptDownwards(conceptId);
+		return conceptIndex.lookFor(conceptId);
 	}
 
 	public boolean potentiallyHasAttributes() {
@@ -120,10 +130,115 @@ public abstract class Hierarchy {
 		this.label = label;
 
 		rootConcept = createRootConcept(rootConceptId);
+
+		conceptIndex.addDownwards(rootConcept);
 	}
 
 	abstract RootConcept createRootConcept(EntityId rootConceptId);
 
+	void setModelConceptIndex(ConceptIndex modelConceptIndex) {
+
+		this.modelConceptIndex = modelConceptIndex;
+
+		modelConceptIndex.addAll(conceptIndex);
+
+		for (DynamicAttribute attribute : rootConcept.getDynamicAttributesDownwards()) {
+
+			activateTargetValues(attribute);
+		}
+	}
+
+	void clearModelConceptIndex() {
+
+		modelConceptIndex.removeDownwards(rootConcept);
+		modelConceptIndex = null;
+	}
+
+	ConceptIndex getModelConceptIndex() {
+
+		return modelConceptIndex;
+	}
+
+	int getConceptCount() {
+
+		return conceptIndex.size();
+	}
+
+	boolean descendantOf(Concept concept, Concept testAncestor) {
+
+		return subsumptionIndex.descendantOf(concept, testAncestor);
+	}
+
+	void onConceptAdded(Concept concept) {
+
+		conceptIndex.addDownwards(concept);
+		subsumptionIndex.onStructureUpdate();
+
+		if (modelConceptIndex != null) {
+
+			modelConceptIndex.addDownwards(concept);
+		}
+
+		for (DynamicAttribute attribute : concept.getDynamicAttributesDownwards()) {
+
+			activateTargetValues(attribute);
+		}
+	}
+
+	void onConceptRemoved(Concept concept) {
+
+		for (DynamicAttribute attribute : concept.getDynamicAttributesDownwards()) {
+
+			deactivateTargetValues(attribute);
+		}
+
+		conceptIndex.removeDownwards(concept);
+		subsumptionIndex.onStructureUpdate();
+
+		if (modelConceptIndex != null) {
+
+			modelConceptIndex.removeDownwards(concept);
+		}
+	}
+
+	void onConceptMoved(Concept concept) {
+
+		subsumptionIndex.onStructureUpdate();
+	}
+
+	void onConceptIdReset(Concept concept, EntityId oldId) {
+
+		conceptIndex.updateForIdReset(concept, oldId);
+		model.getConceptEvents().onConceptUpdated(concept);
+
+		if (modelConceptIndex != null) {
+
+			modelConceptIndex.updateForIdReset(concept, oldId);
+		}
+	}
+
+	void activateTargetValues(DynamicAttribute attribute) {
+
+		if (indexedSourceInModel(attribute)) {
+
+			getTargetHierarchy(attribute).onTargetingAttributeActivated(model.getValueConceptIndex());
+		}
+	}
+
+	void deactivateTargetValues(DynamicAttribute attribute) {
+
+		if (indexedSourceInModel(attribute)) {
+
+			getTargetHierarchy(attribute).onTargetingAttributeDeactivated();
+		}
+	}
+
+	void onTargetingAttributeActivated(ConceptIndex valueConceptIndex) {
+	}
+
+	void onTargetingAttributeDeactivated() {
+	}
+
 	void addInwardCoreAttribute(Attribute attribute) {
 
 		inwardCoreAttributes.add(attribute);
@@ -134,4 +249,16 @@ public abstract class Hierarchy {
 	abstract void onAddedDynamicAttribute(DynamicAttribute attribute);
 
 	abstract void onRemovedDynamicAttribute(DynamicAttribute attribute);
+
+	private boolean indexedSourceInModel(DynamicAttribute attribute) {
+
+		Concept source = attribute.getRootSourceConcept();
+
+		return modelConceptIndex != null && conceptIndex.lookFor(source.getConceptId()) == source;
+	}
+
+	private Hierarchy getTargetHierarchy(DynamicAttribute attribute) {
+
+		return attribute.getRootTargetConcept().getHierarchy();
+	}
 }
@@ -17,6 +17,11 @@ class ImpliedValueConstraint extends Constraint {
 		super(attribute, sourceValue, targetValue);
 	}
 
+	void recordAddition(ModelEditRecorder recorder) {
+
+		recorder.recordImpliedValueConstraintAddition(getSourceValue(), getAttribute(), getTargetValue());
+	}
+
 	EditAction createTargetValueRemovalEditAction(Concept target) {
 
 		return createRemoveAction();
@@ -12,20 +12,39 @@ public class Model extends CoreHierarchyContainer {
 
 	private List<ModelSection> sections = new ArrayList<ModelSection>();
 
-	private ModelEditActions editActions = new ModelEditActions();
-	private ConceptTracking conceptTracking = new ConceptTracking();
+	private ConceptEvents conceptEvents = new ConceptEvents();
+	private ModelEditActions editActions = new ModelEditActions(conceptEvents);
 	private ConflictResolver conflictResolver = new ConflictResolver();
 
+	private EntityIdUsage conceptIdUsage = new EntityIdUsage();
+	private ConceptIndex conceptIndex = new ConceptIndex(conceptIdUsage);
+	private ConceptIndex valueConceptIndex = new ConceptIndex(conceptIdUsage);
+
 	public void addSection(ModelSection section) {
 
 		sections.add(section);
 	}
 
+	public void addUpdateListener(ModelUpdateListener listener) {
+
+		conceptEvents.addUpdateListener(listener);
+	}
+
+	public void removeUpdateListener(ModelUpdateListener listener) {
+
+		conceptEvents.removeUpdateListener(listener);
+	}
+
 	public void setConfirmations(Confirmations confirmations) {
 
 		conflictResolver.setConfirmations(confirmations);
 	}
 
+	public void setEditRecorder(ModelEditRecorder recorder) {
+
+		editActions.setRecorder(recorder);
+	}
+
 	public Hierarchy createDynamicValueHierarchy(EntityId rootConceptId) {
 
 		return new DynamicValueHierarchy(this, rootConceptId);
@@ -36,18 +55,75 @@ public class Model extends CoreHierarchyContainer {
 		return new ArrayList<ModelSection>(sections);
 	}
 
+	public Concept lookForConcept(EntityId conceptId) {
+
+		return conceptIndex.lookFor(conceptId);
+	}
+
+	public EntityIdUsage getConceptIdUsage() {
+
+		return conceptIdUsage;
+	}
+
+	public List<Concept> searchConcepts(String query, int maxResults) {
+
+		return conceptIndex.search(query, null, maxResults);
+	}
+
+	public List<Concept> searchConcepts(
+							String query,
+							Collection<Concept> scopeRoots,
+							int maxResults) {
+
+		ConceptIndex index = getSearchIndex(scopeRoots);
+
+		if (index == null) {
+
+			return Collections.emptyList();
+		}
+
+		return index.search(query, scopeRoots, maxResults);
+	}
+
 	public ModelEditActions getEditActions() {
 
 		return editActions;
 	}
 
-	ConceptTracking getConceptTracking() {
+	void addHierarchy(Hierarchy hierarchy) {
+
+		super.addHierarchy(hierarchy);
+
+		hierarchy.setModelConceptIndex(conceptIndex);
+	}
+
+	ConceptIndex getValueConceptIndex() {
+
+		return valueConceptIndex;
+	}
+
+	ConceptEvents getConceptEvents() {
+
+		return conceptEvents;
+	}
+
+	ModelEditRecorder getEditRecorder() {
 
-		return conceptTracking;
+		return editActions.getRecorder();
 	}
 
 	ConflictResolver getConflictResolver() {
 
 		return conflictResolver;
 	}
+
+	private ConceptIndex getSearchIndex(Collection<Concept> scopeRoots) {
+
+		if (scopeRoots == null || scopeRoots.isEmpty()) {
+
+			return conceptIndex;
+		}
+
+		return scopeRoots.iterator().next().getHierarchy().getModelConceptIndex();
+	}
 }
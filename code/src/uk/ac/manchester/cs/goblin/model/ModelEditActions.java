@@ -8,8 +8,52 @@ import uk.ac.manchester.cs.goblin.edit.*;
 
 public class ModelEditActions extends EditActions<ModelEditLocation> {
 
+	private ConceptEvents conceptEvents;
+	private ModelEditRecorder recorder = new NullEditRecorder();
+
 	protected Class<ModelEditLocation> getEditLocationClass(){
 
 		return ModelEditLocation.class;
 	}
+
+	protected void startEventBatch() {
+
+		recorder.onActionStarting();
+		conceptEvents.startBatch();
+	}
+
+	protected void endEventBatch() {
+
+		conceptEvents.endBatch();
+	}
+
+	protected void onPerformed(EditAction historyAction, boolean absorbed) {
+
+		recorder.onActionPerformed(historyAction, absorbed);
+	}
+
+	protected void onUndone(EditAction action) {
+
+		recorder.onActionUndone(action);
+	}
+
+	protected void onRedone(EditAction action) {
+
+		recorder.onActionRedone(action);
+	}
+
+	ModelEditActions(ConceptEvents conceptEvents) {
+
+		this.conceptEvents = conceptEvents;
+	}
+
+	void setRecorder(ModelEditRecorder recorder) {
+
+		this.recorder = recorder;
+	}
+
+	ModelEditRecorder getRecorder() {
+
+		return recorder;
+	}
 }
@@ -0,0 +1,11 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+public interface ModelUpdateListener {
+
+	public void onConceptsUpdated(Set<Concept> updatedConcepts);
+}
@@ -24,9 +24,4 @@ class NonRootCoreConcept extends Concept {
 
 		super(hierarchy, conceptId);
 	}
-
-	Concept createMovedReplacement(Concept newParent) {
-
-		throw createInvalidOperationException();
-	}
 }
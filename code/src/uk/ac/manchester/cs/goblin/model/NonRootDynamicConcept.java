@@ -24,14 +24,4 @@ class NonRootDynamicConcept extends Concept {
 
 		super(hierarchy, conceptId);
 	}
-
-	Concept createMovedReplacement(Concept newParent) {
-
-		return new NonRootDynamicConcept(this, newParent);
-	}
-
-	private NonRootDynamicConcept(Concept replaced, Concept newParent) {
-
-		super(replaced, newParent);
-	}
 }
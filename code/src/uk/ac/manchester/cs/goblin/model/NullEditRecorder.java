@@ -0,0 +1,74 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.goblin.edit.*;
+
+/**
+ * @author Colin Puleston
+ */
+class NullEditRecorder implements ModelEditRecorder {
+
+	public void recordChildAddition(Concept parent, EntityId childId) {
+	}
+
+	public void recordConceptIdReset(Concept concept, EntityId newId) {
+	}
+
+	public void recordConceptMove(Concept concept, Concept newParent) {
+	}
+
+	public void recordConceptGroupMove(List<Concept> concepts, Concept newParent) {
+	}
+
+	public void recordConceptRemoval(Concept concept) {
+	}
+
+	public void recordConceptGroupRemoval(List<Concept> concepts) {
+	}
+
+	public void recordDynamicAttributeAddition(
+					Concept source,
+					EntityId attrId,
+					EntityId rootTargetConceptId) {
+	}
+
+	public void recordDynamicAttributeAddition(
+					Concept source,
+					EntityId attrId,
+					Concept rootTargetConcept) {
+	}
+
+	public void recordValidValuesConstraintAddition(
+					Concept source,
+					Attribute attribute,
+					Collection<Concept> targetValues) {
+	}
+
+	public void recordImpliedValueConstraintAddition(
+					Concept source,
+					Attribute attribute,
+					Concept targetValue) {
+	}
+
+	public void recordConstraintRemoval(Constraint constraint) {
+	}
+
+	public void recordAttributeIdReset(DynamicAttribute attribute, EntityId newId) {
+	}
+
+	public void recordDynamicAttributeRemoval(DynamicAttribute attribute) {
+	}
+
+	public void onActionStarting() {
+	}
+
+	public void onActionPerformed(EditAction historyAction, boolean absorbed) {
+	}
+
+	public void onActionUndone(EditAction action) {
+	}
+
+	public void onActionRedone(EditAction action) {
+	}
+}
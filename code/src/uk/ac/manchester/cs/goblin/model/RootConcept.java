@@ -37,11 +37,6 @@ abstract class RootConcept extends Concept {
 		super(hierarchy, conceptId);
 	}
 
-	Concept createMovedReplacement(Concept newParent) {
-
-		throw createInvalidOperationException();
-	}
-
 	void doRemoveConstraint(Constraint constraint) {
 
 		throw createInvalidOperationException();
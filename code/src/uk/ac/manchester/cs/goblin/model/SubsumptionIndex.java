@@ -0,0 +1,139 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class SubsumptionIndex {
+
+	private Hierarchy hierarchy;
+
+	private boolean enabled = true;
+	private boolean current = false;
+
+	private int walkStepsSinceUpdate = 0;
+
+	private Map<Concept, Interval> intervals = new HashMap<Concept, Interval>();
+
+	private class Interval {
+
+		final int start;
+		int end;
+
+		Interval(int start) {
+
+			this.start = start;
+
+			end = start;
+		}
+
+		boolean contains(Interval other) {
+
+			return start < other.start && other.start <= end;
+		}
+	}
+
+	private class Builder {
+
+		private int nextIndex = 0;
+
+		Builder() {
+
+			intervals.clear();
+
+			addFrom(hierarchy.getRootConcept());
+		}
+
+		private int addFrom(Concept concept) {
+
+			Interval interval = new Interval(nextIndex++);
+
+			intervals.put(concept, interval);
+
+			for (Concept child : concept.getChildrenView()) {
+
+				interval.end = addFrom(child);
+			}
+
+			return interval.end;
+		}
+	}
+
+	SubsumptionIndex(Hierarchy hierarchy) {
+
+		this.hierarchy = hierarchy;
+	}
+
+	void setEnabled(boolean enabled) {
+
+		this.enabled = enabled;
+
+		if (!enabled) {
+
+			onStructureUpdate();
+		}
+	}
+
+	void onStructureUpdate() {
+
+		if (current) {
+
+			current = false;
+
+			intervals.clear();
+		}
+
+		walkStepsSinceUpdate = 0;
+	}
+
+	boolean descendantOf(Concept concept, Concept testAncestor) {
+
+		if (testAncestor.getHierarchy() != hierarchy) {
+
+			return false;
+		}
+
+		if (checkCurrent()) {
+
+			Interval interval = intervals.get(concept);
+			Interval ancestorInterval = intervals.get(testAncestor);
+
+			if (interval != null && ancestorInterval != null) {
+
+				return ancestorInterval.contains(interval);
+			}
+		}
+
+		return walkUpwards(concept, testAncestor);
+	}
+
+	private boolean checkCurrent() {
+
+		if (!current && enabled && walkStepsSinceUpdate > hierarchy.getConceptCount()) {
+
+			new Builder();
+
+			current = true;
+		}
+
+		return current;
+	}
+
+	private boolean walkUpwards(Concept concept, Concept testAncestor) {
+
+		while (!concept.isRoot()) {
+
+			walkStepsSinceUpdate++;
+
+			concept = concept.getParent();
+
+			if (concept.equals(testAncestor)) {
+
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,46 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class SubtreeConstraintCounts {
+
+	private Map<Attribute, Integer> countsByAttribute = new HashMap<Attribute, Integer>();
+
+	void update(Attribute attribute, int delta) {
+
+		Integer count = countsByAttribute.get(attribute);
+		int newCount = (count != null ? count : 0) + delta;
+
+		if (newCount == 0) {
+
+			countsByAttribute.remove(attribute);
+		}
+		else {
+
+			countsByAttribute.put(attribute, newCount);
+		}
+	}
+
+	void updateAll(SubtreeConstraintCounts deltas, boolean adding) {
+
+		for (Map.Entry<Attribute, Integer> entry : deltas.countsByAttribute.entrySet()) {
+
+			int delta = entry.getValue();
+
+			update(entry.getKey(), adding ? delta : -delta);
+		}
+	}
+
+	boolean any(Attribute attribute) {
+
+		return countsByAttribute.containsKey(attribute);
+	}
+
+	boolean isEmpty() {
+
+		return countsByAttribute.isEmpty();
+	}
+}
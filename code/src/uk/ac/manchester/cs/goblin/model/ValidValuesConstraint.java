@@ -27,6 +27,11 @@ class ValidValuesConstraint extends Constraint {
 		super(attribute, sourceValue, targetValues);
 	}
 
+	void recordAddition(ModelEditRecorder recorder) {
+
+		recorder.recordValidValuesConstraintAddition(getSourceValue(), getAttribute(), getTargetValues());
+	}
+
 	EditAction createTargetValueRemovalEditAction(Concept target) {
 
 		Collection<Concept> targets = getTargetValues();
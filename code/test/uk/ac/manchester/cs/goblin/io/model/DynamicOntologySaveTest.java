@@ -0,0 +1,313 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+import uk.ac.manchester.cs.goblin.io.*;
+import uk.ac.manchester.cs.goblin.io.ontology.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class DynamicOntologySaveTest {
+
+	static private final long RANDOM_SEED = 16;
+	static private final int SAVE_ROUNDS = 5;
+	static private final int EDITS_PER_ROUND = 200;
+
+	static private final String INCREMENTAL_FILENAME = "incremental.owl";
+	static private final String FULL_REWRITE_FILENAME = "full-rewrite.owl";
+
+	static public void main(String[] args) throws Exception {
+
+		File workDir = Files.createTempDirectory("goblin-save-test").toFile();
+
+		try {
+
+			new DynamicOntologySaveTest(new File(args[0]), workDir).run();
+		}
+		finally {
+
+			deleteAll(workDir);
+		}
+
+		System.out.println("DynamicOntologySaveTest: OK");
+	}
+
+	static private void deleteAll(File file) {
+
+		File[] subFiles = file.listFiles();
+
+		if (subFiles != null) {
+
+			for (File subFile : subFiles) {
+
+				deleteAll(subFile);
+			}
+		}
+
+		file.delete();
+	}
+
+	private Random random = new Random(RANDOM_SEED);
+	private int idCount = 0;
+
+	private File dynamicOntologyFile;
+	private File outputDir;
+
+	private Model model;
+	private OntologyIds ontologyIds;
+
+	private DynamicOntologySaveTest(File resourceDir, File workDir) throws Exception {
+
+		File projectDir = new File(workDir, "project");
+
+		outputDir = new File(workDir, "output");
+
+		copyProject(resourceDir, projectDir);
+		outputDir.mkdir();
+
+		ModelSerialiser serialiser = new ModelSerialiser(new ProjectDir(projectDir));
+
+		dynamicOntologyFile = serialiser.getDynamicOntologyFile();
+		model = serialiser.getModel();
+
+		serialiser.completeBackgroundSaves();
+		model.getEditActions().startTracking();
+	}
+
+	private void run() throws Exception {
+
+		Ontology incremental = new Ontology(dynamicOntologyFile);
+		Ontology fullRewrite = new Ontology(dynamicOntologyFile);
+
+		ontologyIds = new OntologyIds(incremental.getOntologyIRI());
+
+		DynamicModelRenderer renderer = new DynamicModelRenderer(ontologyIds);
+
+		model.addUpdateListener(renderer);
+		incremental.updateAxioms(renderer.render(model));
+
+		for (int i = 0; i < SAVE_ROUNDS; i++) {
+
+			for (int j = 0; j < EDITS_PER_ROUND; j++) {
+
+				performRandomEdit();
+			}
+
+			renderer.renderUpdates(model).applyTo(incremental);
+			incremental.write(getOutputFile(INCREMENTAL_FILENAME), OntologyFormat.RDF_XML);
+
+			fullRewrite.updateAxioms(Collections.<OWLAxiom>emptySet());
+			fullRewrite.updateAxioms(new DynamicModelRenderer(ontologyIds).render(model));
+			fullRewrite.write(getOutputFile(FULL_REWRITE_FILENAME), OntologyFormat.RDF_XML);
+
+			checkIdentical(INCREMENTAL_FILENAME, FULL_REWRITE_FILENAME);
+		}
+	}
+
+	private void copyProject(File resourceDir, File projectDir) throws IOException {
+
+		projectDir.mkdir();
+
+		for (File file : resourceDir.listFiles()) {
+
+			Files.copy(file.toPath(), new File(projectDir, file.getName()).toPath());
+		}
+	}
+
+	private void performRandomEdit() {
+
+		List<Concept> concepts = getAllConcepts();
+		Concept concept = concepts.get(random.nextInt(concepts.size()));
+
+		switch (random.nextInt(11)) {
+
+			case 0:
+				if (!concept.getHierarchy().fixedStructure()) {
+
+					concept.addChild(createId("Concept"));
+				}
+				break;
+
+			case 1:
+				if (concept.canMove()) {
+
+					concept.remove();
+				}
+				break;
+
+			case 2:
+				moveToRandomParent(concept, concepts);
+				break;
+
+			case 3:
+				if (concept.canResetId()) {
+
+					concept.resetConceptId(createId("Reset"));
+				}
+				break;
+
+			case 4:
+			case 5:
+				addRandomConstraint(concept);
+				break;
+
+			case 6:
+				if (model.getEditActions().canUndo()) {
+
+					model.getEditActions().undo();
+				}
+				break;
+
+			case 7:
+				if (model.getEditActions().canRedo()) {
+
+					model.getEditActions().redo();
+				}
+				break;
+
+			case 8:
+				if (concept.getHierarchy().dynamicAttributesEnabled()) {
+
+					concept.addDynamicAttribute(createId("attribute"), createId("Values"));
+				}
+				break;
+
+			case 9:
+				for (DynamicAttribute attribute : getDynamicAttributes(concept)) {
+
+					attribute.resetAttributeId(createId("attribute"));
+				}
+				break;
+
+			case 10:
+				for (DynamicAttribute attribute : getDynamicAttributes(concept)) {
+
+					attribute.remove();
+				}
+				break;
+		}
+	}
+
+	private List<DynamicAttribute> getDynamicAttributes(Concept concept) {
+
+		List<DynamicAttribute> attributes = new ArrayList<DynamicAttribute>();
+
+		for (Attribute attribute : concept.getApplicableAttributes()) {
+
+			if (attribute.dynamicAttribute() && attribute.getRootSourceConcept() == concept) {
+
+				attributes.add((DynamicAttribute)attribute);
+			}
+		}
+
+		return attributes;
+	}
+
+	private void moveToRandomParent(Concept concept, List<Concept> concepts) {
+
+		Concept newParent = concepts.get(random.nextInt(concepts.size()));
+
+		if (concept.canMove()
+			&& newParent.getHierarchy() == concept.getHierarchy()
+			&& newParent != concept.getParent()
+			&& !newParent.subsumedBy(concept)) {
+
+			concept.move(newParent);
+		}
+	}
+
+	private void addRandomConstraint(Concept source) {
+
+		List<Attribute> attributes = source.getApplicableAttributes();
+
+		if (attributes.isEmpty()) {
+
+			return;
+		}
+
+		Attribute attribute = attributes.get(random.nextInt(attributes.size()));
+
+		if (source == attribute.getRootSourceConcept() || !source.getConstraints(attribute).isEmpty()) {
+
+			return;
+		}
+
+		List<Concept> targets = getAllConcepts(attribute.getRootTargetConcept());
+		Concept target = targets.get(random.nextInt(targets.size()));
+
+		if (target != attribute.getRootTargetConcept()) {
+
+			if (random.nextBoolean()) {
+
+				source.addValidValuesConstraint(attribute, target);
+			}
+			else {
+
+				source.addImpliedValueConstraint(attribute, target);
+			}
+		}
+	}
+
+	private void checkIdentical(String filename1, String filename2) throws IOException {
+
+		byte[] content1 = Files.readAllBytes(getOutputFile(filename1).toPath());
+		byte[] content2 = Files.readAllBytes(getOutputFile(filename2).toPath());
+
+		if (!Arrays.equals(content1, content2)) {
+
+			throw new RuntimeException("Saved ontologies differ: " + filename1 + ", " + filename2);
+		}
+	}
+
+	private List<Concept> getAllConcepts() {
+
+		List<Concept> concepts = new ArrayList<Concept>();
+
+		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
+
+			concepts.addAll(getAllConcepts(hierarchy.getRootConcept()));
+
+			for (DynamicAttribute attribute : hierarchy.getDynamicAttributes()) {
+
+				concepts.addAll(getAllConcepts(attribute.getRootTargetConcept()));
+			}
+		}
+
+		return concepts;
+	}
+
+	private List<Concept> getAllConcepts(Concept root) {
+
+		List<Concept> concepts = new ArrayList<Concept>();
+
+		collectConcepts(root, concepts);
+
+		return concepts;
+	}
+
+	private void collectConcepts(Concept concept, List<Concept> concepts) {
+
+		concepts.add(concept);
+
+		for (Concept child : concept.getChildren()) {
+
+			collectConcepts(child, concepts);
+		}
+	}
+
+	private File getOutputFile(String filename) {
+
+		return new File(outputDir, filename);
+	}
+
+	private EntityId createId(String namePrefix) {
+
+		return new DynamicId(namePrefix + (idCount++));
+	}
+}
@@ -0,0 +1,273 @@
+package uk.ac.manchester.cs.goblin.io.model;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import uk.ac.manchester.cs.goblin.model.*;
+import uk.ac.manchester.cs.goblin.io.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class ModelJournalReplayTest {
+
+	static private final long RANDOM_SEED = 1234;
+	static private final int EDITS = 300;
+
+	static public void main(String[] args) throws Exception {
+
+		File workDir = Files.createTempDirectory("goblin-journal-test").toFile();
+
+		try {
+
+			new ModelJournalReplayTest(new File(args[0]), workDir).run();
+		}
+		finally {
+
+			deleteAll(workDir);
+		}
+
+		System.out.println("ModelJournalReplayTest: OK");
+	}
+
+	static private void deleteAll(File file) {
+
+		File[] subFiles = file.listFiles();
+
+		if (subFiles != null) {
+
+			for (File subFile : subFiles) {
+
+				deleteAll(subFile);
+			}
+		}
+
+		file.delete();
+	}
+
+	private Random random = new Random(RANDOM_SEED);
+	private int idCount = 0;
+
+	private File projectDir;
+	private Model model;
+
+	private int rejectedMoves = 0;
+
+	private class RejectingConfirmations implements Confirmations {
+
+		public boolean confirmConceptMoveOrphanedConstraintRemovals(
+							List<Concept> concepts,
+							List<Constraint> removals) {
+
+			return false;
+		}
+
+		public boolean confirmConceptMoveConflictingConstraintRemovals(
+							List<Concept> concepts,
+							List<Constraint> removals) {
+
+			return false;
+		}
+
+		public boolean confirmConstraintAdditionConflictRemovals(List<Constraint> removals) {
+
+			return false;
+		}
+	}
+
+	private ModelJournalReplayTest(File resourceDir, File workDir) throws Exception {
+
+		projectDir = new File(workDir, "project");
+
+		copyProject(resourceDir);
+	}
+
+	private void run() throws Exception {
+
+		ModelSerialiser serialiser = new ModelSerialiser(new ProjectDir(projectDir));
+
+		model = serialiser.getModel();
+
+		serialiser.completeBackgroundSaves();
+		model.setConfirmations(new RejectingConfirmations());
+		model.getEditActions().startTracking();
+
+		for (int i = 0; i < EDITS; i++) {
+
+			performRandomEdit();
+		}
+
+		if (rejectedMoves == 0) {
+
+			throw new RuntimeException("No concept moves were rejected");
+		}
+
+		serialiser.completeBackgroundSaves();
+
+		ModelSerialiser recoverer = new ModelSerialiser(new ProjectDir(projectDir));
+
+		if (!recoverer.recoveredUnsavedEdits()) {
+
+			throw new RuntimeException("No edits recovered from journal");
+		}
+
+		if (!describe(recoverer.getModel()).equals(describe(model))) {
+
+			throw new RuntimeException("Recovered model differs from edited model");
+		}
+	}
+
+	private void copyProject(File resourceDir) throws IOException {
+
+		projectDir.mkdirs();
+
+		for (File file : resourceDir.listFiles()) {
+
+			Files.copy(file.toPath(), new File(projectDir, file.getName()).toPath());
+		}
+	}
+
+	private void performRandomEdit() {
+
+		List<Concept> concepts = getAllConcepts();
+		Concept concept = concepts.get(random.nextInt(concepts.size()));
+
+		switch (random.nextInt(6)) {
+
+			case 0:
+				if (!concept.getHierarchy().fixedStructure()) {
+
+					concept.addChild(createId("Concept"));
+				}
+				break;
+
+			case 1:
+			case 2:
+				moveToRandomParent(concept, concepts);
+				break;
+
+			case 3:
+				addRandomConstraint(concept);
+				break;
+
+			case 4:
+				if (model.getEditActions().canUndo()) {
+
+					model.getEditActions().undo();
+				}
+				break;
+
+			case 5:
+				if (model.getEditActions().canRedo()) {
+
+					model.getEditActions().redo();
+				}
+				break;
+		}
+	}
+
+	private void moveToRandomParent(Concept concept, List<Concept> concepts) {
+
+		Concept newParent = concepts.get(random.nextInt(concepts.size()));
+
+		if (concept.canMove()
+			&& newParent.getHierarchy() == concept.getHierarchy()
+			&& newParent != concept.getParent()
+			&& !newParent.subsumedBy(concept)) {
+
+			if (!concept.move(newParent)) {
+
+				rejectedMoves++;
+			}
+		}
+	}
+
+	private void addRandomConstraint(Concept source) {
+
+		List<Attribute> attributes = source.getApplicableAttributes();
+
+		if (attributes.isEmpty()) {
+
+			return;
+		}
+
+		Attribute attribute = attributes.get(random.nextInt(attributes.size()));
+
+		if (source == attribute.getRootSourceConcept() || !source.getConstraints(attribute).isEmpty()) {
+
+			return;
+		}
+
+		List<Concept> targets = getAllConcepts(attribute.getRootTargetConcept());
+		Concept target = targets.get(random.nextInt(targets.size()));
+
+		if (target != attribute.getRootTargetConcept()) {
+
+			source.addValidValuesConstraint(attribute, target);
+		}
+	}
+
+	private String describe(Model describeModel) {
+
+		StringBuilder description = new StringBuilder();
+
+		for (Hierarchy hierarchy : describeModel.getCoreHierarchies()) {
+
+			describe(hierarchy.getRootConcept(), description);
+		}
+
+		return description.toString();
+	}
+
+	private void describe(Concept concept, StringBuilder description) {
+
+		description.append(concept).append(" < ").append(concept.getParents()).append('\n');
+
+		for (Constraint constraint : concept.getConstraints()) {
+
+			description.append(constraint).append('\n');
+		}
+
+		for (Concept child : concept.getChildren()) {
+
+			describe(child, description);
+		}
+	}
+
+	private List<Concept> getAllConcepts() {
+
+		List<Concept> concepts = new ArrayList<Concept>();
+
+		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
+
+			concepts.addAll(getAllConcepts(hierarchy.getRootConcept()));
+		}
+
+		return concepts;
+	}
+
+	private List<Concept> getAllConcepts(Concept root) {
+
+		List<Concept> concepts = new ArrayList<Concept>();
+
+		collectConcepts(root, concepts);
+
+		return concepts;
+	}
+
+	private void collectConcepts(Concept concept, List<Concept> concepts) {
+
+		concepts.add(concept);
+
+		for (Concept child : concept.getChildren()) {
+
+			collectConcepts(child, concepts);
+		}
+	}
+
+	private EntityId createId(String namePrefix) {
+
+		return new DynamicId(namePrefix + (idCount++));
+	}
+}
@@ -0,0 +1,236 @@
+package uk.ac.manchester.cs.goblin.model;
+
+import java.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class ConceptIndexTest {
+
+	static private final long RANDOM_SEED = 1234;
+	static private final int EDIT_STEPS = 5000;
+	static private final int SEARCH_CHECK_INTERVAL = 100;
+
+	static private final int HIERARCHY_COUNT = 3;
+	static private final int INITIAL_CHILDREN = 20;
+
+	static public void main(String[] args) {
+
+		new ConceptIndexTest().run();
+
+		System.out.println("ConceptIndexTest: OK");
+	}
+
+	private Random random = new Random(RANDOM_SEED);
+	private int idCount = 0;
+
+	private Model model = new Model();
+	private Set<Concept> createdConcepts = new HashSet<Concept>();
+
+	private ConceptIndexTest() {
+
+		ModelSection section = new ModelSection(model, "Test");
+
+		model.addSection(section);
+
+		for (int i = 0; i < HIERARCHY_COUNT; i++) {
+
+			addHierarchy(section, i);
+		}
+
+		model.getEditActions().startTracking();
+	}
+
+	private void run() {
+
+		checkIndexes();
+
+		for (int step = 1; step <= EDIT_STEPS; step++) {
+
+			performRandomEdit();
+			checkIndexes();
+
+			if (step % SEARCH_CHECK_INTERVAL == 0) {
+
+				checkSearch();
+			}
+		}
+	}
+
+	private void addHierarchy(ModelSection section, int index) {
+
+		CoreHierarchy hierarchy = new CoreHierarchy(model, createId("Root" + index), "Hierarchy " + index);
+
+		section.addCoreHierarchy(hierarchy);
+
+		for (int i = 0; i < INITIAL_CHILDREN; i++) {
+
+			addChild(getRandomConcept(getAllConcepts(hierarchy.getRootConcept())));
+		}
+	}
+
+	private void performRandomEdit() {
+
+		List<Concept> concepts = getAllConcepts();
+		Concept concept = getRandomConcept(concepts);
+
+		switch (random.nextInt(6)) {
+
+			case 0:
+				addChild(concept);
+				break;
+
+			case 1:
+				if (concept.canMove()) {
+
+					concept.remove();
+				}
+				break;
+
+			case 2:
+				moveToRandomParent(concept, concepts);
+				break;
+
+			case 3:
+				if (concept.canResetId()) {
+
+					concept.resetConceptId(createId("Reset"));
+				}
+				break;
+
+			case 4:
+				if (model.getEditActions().canUndo()) {
+
+					model.getEditActions().undo();
+				}
+				break;
+
+			case 5:
+				if (model.getEditActions().canRedo()) {
+
+					model.getEditActions().redo();
+				}
+				break;
+		}
+	}
+
+	private void addChild(Concept parent) {
+
+		createdConcepts.add(parent.addChild(createId("Concept")));
+	}
+
+	private void moveToRandomParent(Concept concept, List<Concept> concepts) {
+
+		Concept newParent = getRandomConcept(concepts);
+
+		if (concept.canMove()
+			&& newParent.getHierarchy() == concept.getHierarchy()
+			&& newParent != concept.getParent()
+			&& !newParent.subsumedBy(concept)) {
+
+			concept.move(newParent);
+		}
+	}
+
+	private void checkIndexes() {
+
+		Set<Concept> attached = new HashSet<Concept>();
+
+		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
+
+			List<Concept> concepts = getAllConcepts(hierarchy.getRootConcept());
+
+			checkEqual(hierarchy.getConceptCount(), concepts.size(), "Hierarchy concept-count");
+
+			for (Concept concept : concepts) {
+
+				EntityId id = concept.getConceptId();
+
+				checkSame(hierarchy.lookForConcept(id), concept, "Hierarchy index entry for " + id);
+				checkSame(model.lookForConcept(id), concept, "Model index entry for " + id);
+
+				attached.add(concept);
+			}
+		}
+
+		for (Concept concept : createdConcepts) {
+
+			if (!attached.contains(concept)) {
+
+				EntityId id = concept.getConceptId();
+
+				checkSame(model.lookForConcept(id), null, "Model index entry for removed " + id);
+			}
+		}
+	}
+
+	private void checkSearch() {
+
+		for (Concept concept : getAllConcepts()) {
+
+			String label = concept.getConceptId().getLabel();
+
+			if (!model.searchConcepts(label, Integer.MAX_VALUE).contains(concept)) {
+
+				throw new RuntimeException("Search failed to find: " + concept);
+			}
+		}
+	}
+
+	private List<Concept> getAllConcepts() {
+
+		List<Concept> concepts = new ArrayList<Concept>();
+
+		for (Hierarchy hierarchy : model.getCoreHierarchies()) {
+
+			concepts.addAll(getAllConcepts(hierarchy.getRootConcept()));
+		}
+
+		return concepts;
+	}
+
+	private List<Concept> getAllConcepts(Concept root) {
+
+		List<Concept> concepts = new ArrayList<Concept>();
+
+		collectConcepts(root, concepts);
+
+		return concepts;
+	}
+
+	private void collectConcepts(Concept concept, List<Concept> concepts) {
+
+		concepts.add(concept);
+
+		for (Concept child : concept.getChildren()) {
+
+			collectConcepts(child, concepts);
+		}
+	}
+
+	private Concept getRandomConcept(List<Concept> concepts) {
+
+		return concepts.get(random.nextInt(concepts.size()));
+	}
+
+	private EntityId createId(String namePrefix) {
+
+		return new DynamicId(namePrefix + (idCount++));
+	}
+
+	private void checkEqual(int value, int expected, String description) {
+
+		if (value != expected) {
+
+			throw new RuntimeException(description + ": expected " + expected + ", found " + value);
+		}
+	}
+
+	private void checkSame(Concept concept, Concept expected, String description) {
+
+		if (concept != expected) {
+
+			throw new RuntimeException(description + ": expected " + expected + ", found " + concept);
+		}
+	}
+}